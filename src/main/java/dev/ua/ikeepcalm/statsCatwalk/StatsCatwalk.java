@@ -21,6 +21,7 @@ public class StatsCatwalk extends JavaPlugin {
     private StatsConfig statsConfig;
     private StatsManager statsManager;
     private StatsListener statsListener;
+    private StatsEndpoint statsEndpoint;
 
     @Override
     public void onEnable() {
@@ -30,9 +31,10 @@ public class StatsCatwalk extends JavaPlugin {
         statsConfig = new StatsConfig(this);
 
         statsManager = new StatsManager(this, statsConfig);
-        statsListener = new StatsListener(statsManager);
+        statsListener = new StatsListener(this, statsManager);
 
         getServer().getPluginManager().registerEvents(statsListener, this);
+        statsListener.seedOnlinePlayers();
 
         CatWalkWebserverService webserverService = Bukkit.getServicesManager().load(CatWalkWebserverService.class);
 
@@ -42,13 +44,17 @@ public class StatsCatwalk extends JavaPlugin {
             return;
         }
 
-        webserverService.registerHandlers(new StatsEndpoint(statsManager));
+        statsEndpoint = new StatsEndpoint(statsManager, statsConfig, getLogger());
+        webserverService.registerHandlers(statsEndpoint);
 
         log("StatsCatwalk has been enabled!");
     }
 
     @Override
     public void onDisable() {
+        if (statsEndpoint != null) {
+            statsEndpoint.shutdown();
+        }
         if (statsManager != null) {
             statsManager.stop();
         }
@@ -0,0 +1,105 @@
+package dev.ua.ikeepcalm.statsCatwalk.api;
+
+import dev.ua.uaproject.catwalk.bridge.source.BridgeApiResponse;
+import io.javalin.http.HttpStatus;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs endpoint handlers off the webserver threads.
+ * <p>
+ * At most {@code maxConcurrent} handlers are running or queued at once; a request over that bound is answered with
+ * 503 straight away instead of waiting. A handler that does not finish within its endpoint's timeout is answered
+ * with 504. It keeps its permit until it actually returns, so slow handlers cannot pile up behind the bound.
+ */
+public class EndpointExecutor {
+
+    private final Logger logger;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final long defaultTimeoutMillis;
+    private final Map<String, Long> timeouts;
+
+    public EndpointExecutor(Logger logger, boolean virtualThreads, int threads, int maxConcurrent,
+                            long defaultTimeoutMillis, Map<String, Long> timeouts) {
+        this.logger = logger;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.timeouts = Map.copyOf(timeouts);
+
+        if (virtualThreads) {
+            ThreadFactory factory = Thread.ofVirtual().name("StatsCatwalk-Api-", 0).factory();
+            this.executor = Executors.newThreadPerTaskExecutor(factory);
+        } else {
+            ThreadFactory factory = Thread.ofPlatform().name("StatsCatwalk-Api-", 0).daemon(true).factory();
+            this.executor = Executors.newFixedThreadPool(Math.max(1, threads), factory);
+        }
+    }
+
+    public <T> CompletableFuture<BridgeApiResponse<T>> submit(String endpoint, Supplier<BridgeApiResponse<T>> handler) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.completedFuture(
+                    BridgeApiResponse.error("Too many concurrent statistics requests, try again shortly", HttpStatus.SERVICE_UNAVAILABLE)
+            );
+        }
+
+        CompletableFuture<BridgeApiResponse<T>> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return handler.get();
+                } finally {
+                    permits.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return CompletableFuture.completedFuture(
+                    BridgeApiResponse.error("Statistics are shutting down", HttpStatus.SERVICE_UNAVAILABLE)
+            );
+        }
+
+        long timeoutMillis = getTimeoutMillis(endpoint);
+        if (timeoutMillis > 0) {
+            future = future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        return future.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                logger.warning("Request to " + endpoint + " did not finish within " + timeoutMillis + " ms");
+                return BridgeApiResponse.error("Request timed out", HttpStatus.GATEWAY_TIMEOUT);
+            }
+            logger.log(Level.SEVERE, "Unhandled error in " + endpoint + " handler", cause);
+            return BridgeApiResponse.error("Internal server error", HttpStatus.INTERNAL_SERVER_ERROR);
+        });
+    }
+
+    public long getTimeoutMillis(String endpoint) {
+        return timeouts.getOrDefault(endpoint, defaultTimeoutMillis);
+    }
+
+    public void shutdown(long timeoutMillis) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
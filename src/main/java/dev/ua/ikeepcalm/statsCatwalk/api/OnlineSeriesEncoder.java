@@ -0,0 +1,74 @@
+package dev.ua.ikeepcalm.statsCatwalk.api;
+
+import dev.ua.ikeepcalm.statsCatwalk.api.response.OnlineSeriesColumns;
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlineSeries;
+import dev.ua.ikeepcalm.statsCatwalk.storage.VarInt;
+
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Columnar encodings of the online history. Field names and the derivable hour and day are not repeated per
+ * point, timestamps are delta-encoded, and the packed form also varint-encodes every column.
+ */
+public final class OnlineSeriesEncoder {
+
+    private static final byte PACKED_VERSION = 1;
+    private static final byte FLAG_RANGE = 1;
+
+    private OnlineSeriesEncoder() {
+    }
+
+    public static OnlineSeriesColumns columnar(OnlineSeries series, ZoneId timeZone) {
+        int size = series.size();
+        long[] deltas = new long[size];
+        int[] online = new int[size];
+        int[] min = series.isAggregated() ? new int[size] : null;
+        int[] max = series.isAggregated() ? new int[size] : null;
+
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            deltas[i] = series.timestamp(i) - previous;
+            previous = series.timestamp(i);
+            online[i] = series.average(i);
+            if (min != null) {
+                min[i] = series.min(i);
+                max[i] = series.max(i);
+            }
+        }
+
+        return OnlineSeriesColumns.builder()
+                .count(size)
+                .timeZone(timeZone.getId())
+                .timestampDeltas(deltas)
+                .online(online)
+                .min(min)
+                .max(max)
+                .build();
+    }
+
+    public static OnlineSeriesColumns packed(OnlineSeries series, ZoneId timeZone) {
+        boolean range = series.isAggregated();
+        ByteBuffer buffer = ByteBuffer.allocate(2 + series.size() * (VarInt.MAX_LONG_BYTES * 4));
+        buffer.put(PACKED_VERSION).put(range ? FLAG_RANGE : 0);
+
+        long previous = 0;
+        for (int i = 0; i < series.size(); i++) {
+            VarInt.writeSigned(buffer, series.timestamp(i) - previous);
+            previous = series.timestamp(i);
+            VarInt.writeUnsigned(buffer, Math.max(0, series.average(i)));
+            if (range) {
+                VarInt.writeUnsigned(buffer, Math.max(0, series.min(i)));
+                VarInt.writeUnsigned(buffer, Math.max(0, series.max(i)));
+            }
+        }
+
+        return OnlineSeriesColumns.builder()
+                .count(series.size())
+                .timeZone(timeZone.getId())
+                .packed(Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), buffer.position())))
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package dev.ua.ikeepcalm.statsCatwalk.api;
+
+import dev.ua.ikeepcalm.statsCatwalk.manager.StatsDataset;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of endpoint payloads keyed by endpoint and normalized query parameters.
+ * <p>
+ * Every endpoint is registered with a TTL and the datasets its payload is built from. An entry is served until
+ * its TTL runs out or one of those datasets reports a change, whichever comes first. A TTL of 0 bypasses the
+ * cache for that endpoint.
+ */
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final Map<String, Policy> policies = new HashMap<>();
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private long generation;
+
+    public ResponseCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public void register(String endpoint, int ttlSeconds, StatsDataset... dependsOn) {
+        Set<StatsDataset> datasets = EnumSet.noneOf(StatsDataset.class);
+        datasets.addAll(Set.of(dependsOn));
+        policies.put(endpoint, new Policy(Math.max(0, ttlSeconds) * 1000L, datasets));
+    }
+
+    public Set<StatsDataset> getDependencies(String endpoint) {
+        Policy policy = policies.get(endpoint);
+        return policy != null ? policy.datasets : Set.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String endpoint, String params, Supplier<T> loader) {
+        Policy policy = policies.get(endpoint);
+        if (policy == null || policy.ttlMillis == 0) {
+            return loader.get();
+        }
+
+        String key = params == null || params.isEmpty() ? endpoint : endpoint + "?" + params;
+        long now = System.currentTimeMillis();
+        long loadedGeneration;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.incrementAndGet();
+                return (T) entry.value;
+            }
+            loadedGeneration = generation;
+        }
+
+        misses.incrementAndGet();
+        T value = loader.get();
+        synchronized (entries) {
+            // Skip storing a value computed from data that changed while it was being built
+            if (generation == loadedGeneration) {
+                entries.put(key, new Entry(endpoint, value, now + policy.ttlMillis));
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(StatsDataset dataset) {
+        synchronized (entries) {
+            generation++;
+            int before = entries.size();
+            entries.values().removeIf(entry -> policies.get(entry.endpoint).datasets.contains(dataset));
+            invalidations.addAndGet(before - entries.size());
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation++;
+            invalidations.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    private record Policy(long ttlMillis, Set<StatsDataset> datasets) {
+    }
+
+    private record Entry(String endpoint, Object value, long expiresAt) {
+    }
+}
@@ -0,0 +1,20 @@
+package dev.ua.ikeepcalm.statsCatwalk.api;
+
+public enum ResponseFormat {
+    JSON,
+    COLUMNAR,
+    PACKED;
+
+    public String getKey() {
+        return name().toLowerCase();
+    }
+
+    public static ResponseFormat fromKey(String key) {
+        for (ResponseFormat format : values()) {
+            if (format.getKey().equalsIgnoreCase(key)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -1,7 +1,13 @@
 package dev.ua.ikeepcalm.statsCatwalk.api;
 
 import dev.ua.ikeepcalm.statsCatwalk.StatsCatwalk;
+import dev.ua.ikeepcalm.statsCatwalk.api.request.PlayerBatchRequest;
 import dev.ua.ikeepcalm.statsCatwalk.api.response.*;
+import dev.ua.ikeepcalm.statsCatwalk.config.StatsConfig;
+import dev.ua.ikeepcalm.statsCatwalk.data.DownsampleMode;
+import dev.ua.ikeepcalm.statsCatwalk.data.NameIndex;
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlineSeries;
+import dev.ua.ikeepcalm.statsCatwalk.manager.StatsDataset;
 import dev.ua.ikeepcalm.statsCatwalk.manager.StatsManager;
 import dev.ua.uaproject.catwalk.bridge.annotations.BridgeEventHandler;
 import dev.ua.uaproject.catwalk.bridge.annotations.BridgeQueryParam;
@@ -10,17 +16,42 @@ import dev.ua.uaproject.catwalk.bridge.source.BridgeApiResponse;
 import io.javalin.http.HttpStatus;
 import io.javalin.openapi.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
 
 public class StatsEndpoint {
 
+    private static final int MAX_PAGE_SIZE = 10000;
+    private static final int MAX_BATCH_SIZE = 200;
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     private final StatsManager statsManager;
+    private final ResponseCache responseCache;
+    private final EndpointExecutor executor;
 
-    public StatsEndpoint(StatsManager statsManager) {
+    public StatsEndpoint(StatsManager statsManager, StatsConfig config, Logger logger) {
         this.statsManager = statsManager;
+        this.responseCache = new ResponseCache(config.getCacheMaxEntries());
+        this.executor = new EndpointExecutor(logger, config.isApiVirtualThreads(), config.getApiThreads(),
+                config.getApiMaxConcurrentRequests(), config.getApiDefaultTimeoutMillis(), config.getApiEndpointTimeouts());
+
+        responseCache.register("summary", config.getSummaryCacheTtlSeconds(), StatsDataset.PLAYERS);
+        responseCache.register("online", config.getOnlineCacheTtlSeconds(),
+                StatsDataset.ONLINE_HISTORY, StatsDataset.HOURLY_DISTRIBUTION, StatsDataset.PLAYERS);
+        responseCache.register("hourly", config.getHourlyCacheTtlSeconds(),
+                StatsDataset.HOURLY_DISTRIBUTION, StatsDataset.PLAYERS);
+        responseCache.register("topplayers", config.getTopPlayersCacheTtlSeconds(), StatsDataset.PLAYERS);
+        statsManager.addChangeListener(responseCache::invalidate);
+    }
+
+    public void shutdown() {
+        executor.shutdown(1000L);
     }
 
     @OpenApi(
@@ -31,6 +62,14 @@ public class StatsEndpoint {
                     "server performance metrics, and other aggregated data. This endpoint provides a high-level " +
                     "overview of server activity and performance for dashboard displays.",
             tags = {"Server Statistics"},
+            queryParams = {
+                    @OpenApiParam(
+                            name = "hours",
+                            type = Integer.class,
+                            description = "Window in hours for counting new players (minimum 1, default 24)",
+                            example = "24"
+                    )
+            },
             responses = {
                     @OpenApiResponse(status = "200", description = "Successfully retrieved server statistics summary",
                             content = @OpenApiContent(
@@ -40,6 +79,10 @@ public class StatsEndpoint {
                                             {
                                               "summary": {
                                                 "totalPlayers": 150,
+                                                "newPlayers": 12,
+                                                "newPlayersHours": 24,
+                                                "totalSessions": 5230,
+                                                "avgSessionLength": 2710000,
                                                 "averagePlaytime": 45.5,
                                                 "peakOnline": 89,
                                                 "currentTPS": 19.8,
@@ -48,23 +91,46 @@ public class StatsEndpoint {
                                             }
                                             """
                             )),
+                    @OpenApiResponse(status = "400", description = "Invalid hours parameter provided",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
                     @OpenApiResponse(status = "500", description = "Internal server error occurred while retrieving statistics",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "503", description = "Statistics are still loading after a server start, or too many requests are in flight",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "504", description = "The request did not finish within the configured timeout",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json"))
             }
     )
     @BridgeEventHandler(requiresAuth = false, description = "Returns server statistics summary", logRequests = true, scopes = {"stats"})
-    public CompletableFuture<BridgeApiResponse<StatsSummaryResponse>> getStatsSummary() {
-        try {
-            Map<String, Object> summary = statsManager.getStatsSummary();
-            return CompletableFuture.completedFuture(
-                    BridgeApiResponse.success(new StatsSummaryResponse(summary))
-            );
-        } catch (Exception e) {
-            logError("Failed to get stats summary", e);
-            return CompletableFuture.completedFuture(
-                    BridgeApiResponse.error("Failed to retrieve stats summary", HttpStatus.INTERNAL_SERVER_ERROR)
-            );
+    public CompletableFuture<BridgeApiResponse<StatsSummaryResponse>> getStatsSummary(@BridgeQueryParam("hours") String hoursParam) {
+        if (!statsManager.isReady()) {
+            return warmingUp();
+        }
+
+        int hours = 24;
+
+        if (hoursParam != null) {
+            try {
+                hours = Integer.parseInt(hoursParam);
+                if (hours < 1) hours = 1;
+            } catch (NumberFormatException e) {
+                return CompletableFuture.completedFuture(
+                        BridgeApiResponse.error("Invalid hours parameter", HttpStatus.BAD_REQUEST)
+                );
+            }
         }
+
+        int newPlayersHours = hours;
+        return executor.submit("summary", () -> {
+            try {
+                StatsSummaryResponse response = responseCache.get("summary", "hours=" + newPlayersHours,
+                        () -> new StatsSummaryResponse(statsManager.getStatsSummary(newPlayersHours)));
+                return BridgeApiResponse.success(response);
+            } catch (Exception e) {
+                logError("Failed to get stats summary", e);
+                return BridgeApiResponse.error("Failed to retrieve stats summary", HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
     }
 
     @OpenApi(
@@ -79,8 +145,52 @@ public class StatsEndpoint {
                     @OpenApiParam(
                             name = "days",
                             type = Integer.class,
-                            description = "Number of days of historical data to return (minimum 1, maximum 14, default 7)",
+                            description = "Number of days of historical data to return (minimum 1, default 7). Ranges beyond the raw " +
+                                    "retention are served as hourly or daily min/max/average buckets",
                             example = "7"
+                    ),
+                    @OpenApiParam(
+                            name = "from",
+                            type = Long.class,
+                            description = "Pagination cursor: timestamp in milliseconds of the first point to return, " +
+                                    "usually the next_cursor of the previous page",
+                            example = "1704067200000"
+                    ),
+                    @OpenApiParam(
+                            name = "limit",
+                            type = Integer.class,
+                            description = "Maximum number of points per page (1-" + MAX_PAGE_SIZE + "). Without it the " +
+                                    "whole range is returned at once",
+                            example = "1000"
+                    ),
+                    @OpenApiParam(
+                            name = "points",
+                            type = Integer.class,
+                            description = "Downsample the whole range on the server to about this many points (2-" +
+                                    MAX_PAGE_SIZE + "), typically the chart width in pixels. Cannot be combined with " +
+                                    "from or limit",
+                            example = "800"
+                    ),
+                    @OpenApiParam(
+                            name = "downsample",
+                            type = String.class,
+                            description = "Downsampling algorithm used with points: lttb (Largest-Triangle-Three-Buckets, " +
+                                    "keeps the chart shape, default) or minmax (min/max/average buckets)",
+                            example = "lttb"
+                    ),
+                    @OpenApiParam(
+                            name = "format",
+                            type = String.class,
+                            description = "Layout of the points: json (an object per point, default), columnar (parallel " +
+                                    "arrays with delta-encoded timestamps) or packed (the columns varint-encoded into one " +
+                                    "base64 string)",
+                            example = "columnar"
+                    ),
+                    @OpenApiParam(
+                            name = "ifNoneMatch",
+                            type = String.class,
+                            description = "etag of a previous response; while the data is unchanged the answer only carries not_modified, etag and last_modified",
+                            example = "\"lr8x2k1c-42\""
                     )
             },
             responses = {
@@ -103,24 +213,40 @@ public class StatsEndpoint {
                                                 "12": 67,
                                                 "18": 89,
                                                 "23": 34
-                                              }
+                                              },
+                                              "resolution": "raw",
+                                              "next_cursor": 1704153600000
                                             }
                                             """
                             )),
-                    @OpenApiResponse(status = "400", description = "Invalid days parameter provided",
+                    @OpenApiResponse(status = "400", description = "Invalid days, from, limit, points, downsample or format parameter provided",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
                     @OpenApiResponse(status = "500", description = "Internal server error occurred while retrieving data",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "503", description = "Statistics are still loading after a server start, or too many requests are in flight",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "504", description = "The request did not finish within the configured timeout",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json"))
             }
     )
     @BridgeEventHandler(requiresAuth = false, description = "Returns online players historical data", logRequests = true, scopes = {"stats"})
-    public CompletableFuture<BridgeApiResponse<OnlinePlayersResponse>> getOnlinePlayersData(@BridgeQueryParam("days") String daysParam) {
+    public CompletableFuture<BridgeApiResponse<OnlinePlayersResponse>> getOnlinePlayersData(@BridgeQueryParam("days") String daysParam,
+                                                                                           @BridgeQueryParam("from") String fromParam,
+                                                                                           @BridgeQueryParam("limit") String limitParam,
+                                                                                           @BridgeQueryParam("points") String pointsParam,
+                                                                                           @BridgeQueryParam("downsample") String downsampleParam,
+                                                                                           @BridgeQueryParam("format") String formatParam,
+                                                                                           @BridgeQueryParam("ifNoneMatch") String ifNoneMatch) {
+        if (!statsManager.isReady()) {
+            return warmingUp();
+        }
+
         int days = 7;
 
         if (daysParam != null) {
             try {
                 days = Integer.parseInt(daysParam);
-                if (days > 14) days = 14;
+                if (days > statsManager.getMaxHistoryDays()) days = statsManager.getMaxHistoryDays();
                 if (days < 1) days = 1;
             } catch (NumberFormatException e) {
                 return CompletableFuture.completedFuture(
@@ -129,18 +255,116 @@ public class StatsEndpoint {
             }
         }
 
+        long from = Long.MIN_VALUE;
+        int limit = Integer.MAX_VALUE;
+
         try {
-            List<OnlinePlayerData> playersData = statsManager.getOnlinePlayersData(days);
-            Map<String, Integer> hourlyDistribution = statsManager.getCurrentHourlyDistribution();
+            if (fromParam != null) {
+                from = Long.parseLong(fromParam);
+            }
+            if (limitParam != null) {
+                limit = Math.min(Math.max(Integer.parseInt(limitParam), 1), MAX_PAGE_SIZE);
+            }
+        } catch (NumberFormatException e) {
+            return CompletableFuture.completedFuture(
+                    BridgeApiResponse.error("Invalid from or limit parameter", HttpStatus.BAD_REQUEST)
+            );
+        }
 
-            OnlinePlayersResponse response = new OnlinePlayersResponse(playersData, hourlyDistribution);
-            return CompletableFuture.completedFuture(BridgeApiResponse.success(response));
-        } catch (Exception e) {
-            logError("Failed to get online players data", e);
+        int points = 0;
+        DownsampleMode mode = DownsampleMode.LTTB;
+
+        if (pointsParam != null) {
+            if (fromParam != null || limitParam != null) {
+                return CompletableFuture.completedFuture(
+                        BridgeApiResponse.error("points cannot be combined with from or limit", HttpStatus.BAD_REQUEST)
+                );
+            }
+            try {
+                points = Math.min(Math.max(Integer.parseInt(pointsParam), 2), MAX_PAGE_SIZE);
+            } catch (NumberFormatException e) {
+                return CompletableFuture.completedFuture(
+                        BridgeApiResponse.error("Invalid points parameter", HttpStatus.BAD_REQUEST)
+                );
+            }
+            if (downsampleParam != null) {
+                mode = DownsampleMode.fromKey(downsampleParam);
+                if (mode == null) {
+                    return CompletableFuture.completedFuture(
+                            BridgeApiResponse.error("Invalid downsample parameter, expected lttb or minmax", HttpStatus.BAD_REQUEST)
+                    );
+                }
+            }
+        }
+
+        ResponseFormat format = formatParam != null ? ResponseFormat.fromKey(formatParam) : ResponseFormat.JSON;
+        if (format == null) {
             return CompletableFuture.completedFuture(
-                    BridgeApiResponse.error("Failed to retrieve online players data", HttpStatus.INTERNAL_SERVER_ERROR)
+                    BridgeApiResponse.error("Invalid format parameter, expected json, columnar or packed", HttpStatus.BAD_REQUEST)
             );
         }
+
+        int historyDays = days;
+        long pageFrom = from;
+        int pageLimit = limit;
+        int targetPoints = points;
+        DownsampleMode downsampleMode = mode;
+        String params = "days=" + historyDays
+                + (fromParam != null ? "&from=" + pageFrom : "")
+                + (limitParam != null ? "&limit=" + pageLimit : "")
+                + (targetPoints > 0 ? "&points=" + targetPoints + "&downsample=" + downsampleMode.getKey() : "")
+                + "&format=" + format.getKey();
+        String etag = etag("online");
+        long lastModified = lastModified("online");
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(OnlinePlayersResponse.builder()
+                    .notModified(true)
+                    .etag(etag)
+                    .lastModified(lastModified)
+                    .build());
+        }
+
+        return executor.submit("online", () -> {
+            try {
+                OnlinePlayersResponse response = responseCache.get("online", params + "&etag=" + etag, () -> {
+                    OnlineSeries series;
+                    Long nextCursor = null;
+                    if (targetPoints > 0) {
+                        series = statsManager.getOnlineSeries(historyDays, targetPoints, downsampleMode);
+                    } else {
+                        // One extra point tells whether there is another page and where it starts
+                        int fetch = pageLimit == Integer.MAX_VALUE ? pageLimit : pageLimit + 1;
+                        series = statsManager.getOnlineSeries(historyDays, pageFrom, fetch);
+                        if (series.size() > pageLimit) {
+                            nextCursor = series.timestamp(pageLimit);
+                            series.truncate(pageLimit);
+                        }
+                    }
+                    Map<String, Integer> hourlyDistribution = statsManager.getCurrentHourlyDistribution();
+
+                    String resolution = statsManager.getOnlineHistoryResolution(historyDays).getKey();
+
+                    OnlinePlayersResponse.OnlinePlayersResponseBuilder builder = OnlinePlayersResponse.builder();
+                    switch (format) {
+                        case COLUMNAR -> builder.columns(OnlineSeriesEncoder.columnar(series, statsManager.getServerTimeZone()));
+                        case PACKED -> builder.columns(OnlineSeriesEncoder.packed(series, statsManager.getServerTimeZone()));
+                        default -> builder.players(statsManager.toOnlinePlayerData(series));
+                    }
+
+                    return builder
+                            .hourlyDistribution(hourlyDistribution)
+                            .resolution(resolution)
+                            .nextCursor(nextCursor)
+                            .etag(etag)
+                            .lastModified(lastModified)
+                            .build();
+                });
+                return BridgeApiResponse.success(response);
+            } catch (Exception e) {
+                logError("Failed to get online players data", e);
+                return BridgeApiResponse.error("Failed to retrieve online players data", HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
     }
 
     @OpenApi(
@@ -157,6 +381,12 @@ public class StatsEndpoint {
                             type = Integer.class,
                             description = "Maximum number of top players to return (minimum 1, default 10)",
                             example = "10"
+                    ),
+                    @OpenApiParam(
+                            name = "ifNoneMatch",
+                            type = String.class,
+                            description = "etag of a previous response; while the data is unchanged the answer only carries not_modified, etag and last_modified",
+                            example = "\"lr8x2k1c-42\""
                     )
             },
             responses = {
@@ -188,11 +418,20 @@ public class StatsEndpoint {
                     @OpenApiResponse(status = "400", description = "Invalid limit parameter provided",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
                     @OpenApiResponse(status = "500", description = "Internal server error occurred while retrieving top players",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "503", description = "Statistics are still loading after a server start, or too many requests are in flight",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "504", description = "The request did not finish within the configured timeout",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json"))
             }
     )
     @BridgeEventHandler(requiresAuth = false, description = "Returns top players by playtime", logRequests = true, scopes = {"stats"})
-    public CompletableFuture<BridgeApiResponse<TopPlayersResponse>> getTopPlayers(@BridgeQueryParam("limit") String limitParam) {
+    public CompletableFuture<BridgeApiResponse<TopPlayersResponse>> getTopPlayers(@BridgeQueryParam("limit") String limitParam,
+                                                                          @BridgeQueryParam("ifNoneMatch") String ifNoneMatch) {
+        if (!statsManager.isReady()) {
+            return warmingUp();
+        }
+
         int limit = 10;
 
         if (limitParam != null) {
@@ -206,17 +445,31 @@ public class StatsEndpoint {
             }
         }
 
-        try {
-            List<TopPlayerData> result = statsManager.getTopPlayers(limit);
-            return CompletableFuture.completedFuture(
-                    BridgeApiResponse.success(new TopPlayersResponse(result))
-            );
-        } catch (Exception e) {
-            logError("Failed to get top players", e);
-            return CompletableFuture.completedFuture(
-                    BridgeApiResponse.error("Failed to retrieve top players", HttpStatus.INTERNAL_SERVER_ERROR)
-            );
+        String etag = etag("topplayers");
+        long lastModified = lastModified("topplayers");
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(TopPlayersResponse.builder()
+                    .notModified(true)
+                    .etag(etag)
+                    .lastModified(lastModified)
+                    .build());
         }
+
+        int topLimit = limit;
+        return executor.submit("topplayers", () -> {
+            try {
+                TopPlayersResponse response = responseCache.get("topplayers", "limit=" + topLimit + "&etag=" + etag,
+                        () -> TopPlayersResponse.builder()
+                                .players(statsManager.getTopPlayers(topLimit))
+                                .etag(etag)
+                                .lastModified(lastModified)
+                                .build());
+                return BridgeApiResponse.success(response);
+            } catch (Exception e) {
+                logError("Failed to get top players", e);
+                return BridgeApiResponse.error("Failed to retrieve top players", HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
     }
 
     @OpenApi(
@@ -227,6 +480,14 @@ public class StatsEndpoint {
                     "provides valuable insights into server activity patterns, helping identify peak hours, low-activity " +
                     "periods, and overall player engagement throughout the day for server optimization and event planning.",
             tags = {"Player Statistics"},
+            queryParams = {
+                    @OpenApiParam(
+                            name = "ifNoneMatch",
+                            type = String.class,
+                            description = "etag of a previous response; while the data is unchanged the answer only carries not_modified, etag and last_modified",
+                            example = "\"lr8x2k1c-42\""
+                    )
+            },
             responses = {
                     @OpenApiResponse(status = "200", description = "Successfully retrieved hourly player distribution data",
                             content = @OpenApiContent(
@@ -248,22 +509,43 @@ public class StatsEndpoint {
                                             """
                             )),
                     @OpenApiResponse(status = "500", description = "Internal server error occurred while retrieving hourly distribution",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "503", description = "Statistics are still loading after a server start, or too many requests are in flight",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "504", description = "The request did not finish within the configured timeout",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json"))
             }
     )
     @BridgeEventHandler(requiresAuth = false, description = "Returns current hourly player distribution", logRequests = true, scopes = {"stats"})
-    public CompletableFuture<BridgeApiResponse<HourlyDistributionResponse>> getHourlyDistribution() {
-        try {
-            Map<String, Integer> hourlyDistribution = statsManager.getCurrentHourlyDistribution();
-            return CompletableFuture.completedFuture(
-                    BridgeApiResponse.success(new HourlyDistributionResponse(hourlyDistribution))
-            );
-        } catch (Exception e) {
-            logError("Failed to get hourly distribution", e);
-            return CompletableFuture.completedFuture(
-                    BridgeApiResponse.error("Failed to retrieve hourly distribution", HttpStatus.INTERNAL_SERVER_ERROR)
-            );
+    public CompletableFuture<BridgeApiResponse<HourlyDistributionResponse>> getHourlyDistribution(@BridgeQueryParam("ifNoneMatch") String ifNoneMatch) {
+        if (!statsManager.isReady()) {
+            return warmingUp();
         }
+
+        String etag = etag("hourly");
+        long lastModified = lastModified("hourly");
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(HourlyDistributionResponse.builder()
+                    .notModified(true)
+                    .etag(etag)
+                    .lastModified(lastModified)
+                    .build());
+        }
+
+        return executor.submit("hourly", () -> {
+            try {
+                HourlyDistributionResponse response = responseCache.get("hourly", "etag=" + etag,
+                        () -> HourlyDistributionResponse.builder()
+                                .hourlyDistribution(statsManager.getCurrentHourlyDistribution())
+                                .etag(etag)
+                                .lastModified(lastModified)
+                                .build());
+                return BridgeApiResponse.success(response);
+            } catch (Exception e) {
+                logError("Failed to get hourly distribution", e);
+                return BridgeApiResponse.error("Failed to retrieve hourly distribution", HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
     }
 
     @OpenApi(
@@ -349,7 +631,8 @@ public class StatsEndpoint {
             summary = "Get player's total playtime",
             description = "Retrieves the total playtime for a specific player by their username. Returns the cumulative " +
                     "time the player has spent on the server, including both historical playtime and current session " +
-                    "if the player is online. Playtime is returned in milliseconds.",
+                    "if the player is online. Playtime is returned in milliseconds, together with the player's " +
+                    "position on the playtime leaderboard.",
             tags = {"Player Statistics"},
             queryParams = {
                     @OpenApiParam(
@@ -368,6 +651,7 @@ public class StatsEndpoint {
                                             {
                                               "player": "ikeepcalm",
                                               "playtime": 12450000,
+                                              "rank": 17,
                                               "online": true
                                             }
                                             """
@@ -377,37 +661,44 @@ public class StatsEndpoint {
                     @OpenApiResponse(status = "404", description = "Player not found or has never played",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
                     @OpenApiResponse(status = "500", description = "Internal server error occurred while retrieving playtime",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "503", description = "Statistics are still loading after a server start, or too many requests are in flight",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "504", description = "The request did not finish within the configured timeout",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json"))
             }
     )
     @BridgeEventHandler(requiresAuth = false, description = "Returns player's total playtime", logRequests = true, scopes = {"stats"})
     public CompletableFuture<BridgeApiResponse<Map<String, Object>>> getPlayerPlaytime(@BridgeQueryParam("player") String playerName) {
+        if (!statsManager.isReady()) {
+            return warmingUp();
+        }
+
         if (playerName == null || playerName.trim().isEmpty()) {
             return CompletableFuture.completedFuture(
                     BridgeApiResponse.error("Player parameter is required", HttpStatus.BAD_REQUEST)
             );
         }
 
-        try {
-            Long playtime = statsManager.getPlayerPlaytime(playerName.trim());
-            if (playtime == null) {
-                return CompletableFuture.completedFuture(
-                        BridgeApiResponse.error("Player not found or has never played", HttpStatus.NOT_FOUND)
-                );
-            }
+        return executor.submit("playtime", () -> {
+            try {
+                Long playtime = statsManager.getPlayerPlaytime(playerName.trim());
+                if (playtime == null) {
+                    return BridgeApiResponse.error("Player not found or has never played", HttpStatus.NOT_FOUND);
+                }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("player", playerName.trim());
-            response.put("playtime", playtime);
-            response.put("online", org.bukkit.Bukkit.getPlayer(playerName.trim()) != null);
+                Map<String, Object> response = new HashMap<>();
+                response.put("player", playerName.trim());
+                response.put("playtime", playtime);
+                response.put("rank", statsManager.getPlayerRank(playerName.trim()));
+                response.put("online", statsManager.isPlayerOnline(playerName.trim()));
 
-            return CompletableFuture.completedFuture(BridgeApiResponse.success(response));
-        } catch (Exception e) {
-            logError("Failed to get player playtime for: " + playerName, e);
-            return CompletableFuture.completedFuture(
-                    BridgeApiResponse.error("Failed to retrieve player playtime", HttpStatus.INTERNAL_SERVER_ERROR)
-            );
-        }
+                return BridgeApiResponse.success(response);
+            } catch (Exception e) {
+                logError("Failed to get player playtime for: " + playerName, e);
+                return BridgeApiResponse.error("Failed to retrieve player playtime", HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
     }
 
     @OpenApi(
@@ -444,37 +735,368 @@ public class StatsEndpoint {
                     @OpenApiResponse(status = "404", description = "Player not found or no level data available",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
                     @OpenApiResponse(status = "500", description = "Internal server error occurred while retrieving level",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "503", description = "Statistics are still loading after a server start, or too many requests are in flight",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "504", description = "The request did not finish within the configured timeout",
                             content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json"))
             }
     )
     @BridgeEventHandler(requiresAuth = false, description = "Returns player's XP level", logRequests = true, scopes = {"stats"})
     public CompletableFuture<BridgeApiResponse<Map<String, Object>>> getPlayerLevel(@BridgeQueryParam("player") String playerName) {
+        if (!statsManager.isReady()) {
+            return warmingUp();
+        }
+
         if (playerName == null || playerName.trim().isEmpty()) {
             return CompletableFuture.completedFuture(
                     BridgeApiResponse.error("Player parameter is required", HttpStatus.BAD_REQUEST)
             );
         }
 
-        try {
-            Integer level = statsManager.getPlayerLevel(playerName.trim());
-            if (level == null) {
-                return CompletableFuture.completedFuture(
-                        BridgeApiResponse.error("Player not found or no level data available", HttpStatus.NOT_FOUND)
-                );
+        return executor.submit("level", () -> {
+            try {
+                Integer level = statsManager.getPlayerLevel(playerName.trim());
+                if (level == null) {
+                    return BridgeApiResponse.error("Player not found or no level data available", HttpStatus.NOT_FOUND);
+                }
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("player", playerName.trim());
+                response.put("level", level);
+                response.put("online", statsManager.isPlayerOnline(playerName.trim()));
+
+                return BridgeApiResponse.success(response);
+            } catch (Exception e) {
+                logError("Failed to get player level for: " + playerName, e);
+                return BridgeApiResponse.error("Failed to retrieve player level", HttpStatus.INTERNAL_SERVER_ERROR);
             }
+        });
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("player", playerName.trim());
-            response.put("level", level);
-            response.put("online", org.bukkit.Bukkit.getPlayer(playerName.trim()) != null);
+    @OpenApi(
+            path = "/stats/players/batch",
+            methods = HttpMethod.POST,
+            summary = "Look up several players at once",
+            description = "Returns playtime, XP level, online state and leaderboard rank for a list of player names " +
+                    "and/or UUIDs in a single request. Names are matched case-insensitively. Up to " + MAX_BATCH_SIZE +
+                    " players can be requested at once; players that have never played are listed in not_found.",
+            tags = {"Player Statistics"},
+            requestBody = @OpenApiRequestBody(
+                    description = "Names and UUIDs of the players to look up",
+                    required = true,
+                    content = @OpenApiContent(
+                            from = PlayerBatchRequest.class,
+                            mimeType = "application/json",
+                            example = """
+                                    {
+                                      "names": ["ikeepcalm", "player2"],
+                                      "uuids": ["123e4567-e89b-12d3-a456-426614174000"]
+                                    }
+                                    """
+                    )
+            ),
+            responses = {
+                    @OpenApiResponse(status = "200", description = "Successfully looked up the requested players",
+                            content = @OpenApiContent(
+                                    from = PlayerBatchResponse.class,
+                                    mimeType = "application/json",
+                                    example = """
+                                            {
+                                              "players": [
+                                                {
+                                                  "query": "ikeepcalm",
+                                                  "name": "ikeepcalm",
+                                                  "uuid": "123e4567-e89b-12d3-a456-426614174000",
+                                                  "playtime": 12450000,
+                                                  "level": 30,
+                                                  "online": true,
+                                                  "rank": 17
+                                                }
+                                              ],
+                                              "not_found": ["player2"]
+                                            }
+                                            """
+                            )),
+                    @OpenApiResponse(status = "400", description = "Missing body, no players, too many players or an invalid UUID",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "500", description = "Internal server error occurred while looking up players",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "503", description = "Statistics are still loading after a server start, or too many requests are in flight",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "504", description = "The request did not finish within the configured timeout",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json"))
+            }
+    )
+    @BridgeEventHandler(requiresAuth = false, description = "Returns stats of several players", logRequests = true, scopes = {"stats"})
+    public CompletableFuture<BridgeApiResponse<PlayerBatchResponse>> getPlayersBatch(@BridgeRequestBody PlayerBatchRequest request) {
+        if (!statsManager.isReady()) {
+            return warmingUp();
+        }
 
-            return CompletableFuture.completedFuture(BridgeApiResponse.success(response));
-        } catch (Exception e) {
-            logError("Failed to get player level for: " + playerName, e);
+        if (request == null) {
             return CompletableFuture.completedFuture(
-                    BridgeApiResponse.error("Failed to retrieve player level", HttpStatus.INTERNAL_SERVER_ERROR)
+                    BridgeApiResponse.error("Request body is required", HttpStatus.BAD_REQUEST)
             );
         }
+
+        List<String> names = new ArrayList<>();
+        if (request.getNames() != null) {
+            for (String name : request.getNames()) {
+                if (name != null && !name.trim().isEmpty()) {
+                    names.add(name.trim());
+                }
+            }
+        }
+
+        List<UUID> uuids = new ArrayList<>();
+        if (request.getUuids() != null) {
+            for (String uuid : request.getUuids()) {
+                if (uuid == null || uuid.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    uuids.add(UUID.fromString(uuid.trim()));
+                } catch (IllegalArgumentException e) {
+                    return CompletableFuture.completedFuture(
+                            BridgeApiResponse.error("Invalid UUID: " + uuid.trim(), HttpStatus.BAD_REQUEST)
+                    );
+                }
+            }
+        }
+
+        if (names.isEmpty() && uuids.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    BridgeApiResponse.error("At least one name or UUID is required", HttpStatus.BAD_REQUEST)
+            );
+        }
+        if (names.size() + uuids.size() > MAX_BATCH_SIZE) {
+            return CompletableFuture.completedFuture(
+                    BridgeApiResponse.error("At most " + MAX_BATCH_SIZE + " players can be looked up at once", HttpStatus.BAD_REQUEST)
+            );
+        }
+
+        return executor.submit("batch", () -> {
+            try {
+                Map<String, PlayerLookupData> found = statsManager.lookupPlayers(names, uuids);
+
+                List<String> notFound = new ArrayList<>();
+                for (String name : names) {
+                    if (!found.containsKey(name) && !notFound.contains(name)) {
+                        notFound.add(name);
+                    }
+                }
+                for (UUID uuid : uuids) {
+                    if (!found.containsKey(uuid.toString()) && !notFound.contains(uuid.toString())) {
+                        notFound.add(uuid.toString());
+                    }
+                }
+
+                PlayerBatchResponse response = PlayerBatchResponse.builder()
+                        .players(new ArrayList<>(found.values()))
+                        .notFound(notFound)
+                        .build();
+                return BridgeApiResponse.success(response);
+            } catch (Exception e) {
+                logError("Failed to look up players", e);
+                return BridgeApiResponse.error("Failed to look up players", HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
+    }
+
+    @OpenApi(
+            path = "/stats/players/search",
+            methods = HttpMethod.GET,
+            summary = "Search player names by prefix",
+            description = "Returns players whose name starts with the given prefix, ordered by name, for autocompletion. " +
+                    "Matching is case-insensitive and served from the plugin's own name index, which covers every " +
+                    "player in the stats table. No Mojang profile lookups are made.",
+            tags = {"Player Statistics"},
+            queryParams = {
+                    @OpenApiParam(
+                            name = "prefix",
+                            type = String.class,
+                            description = "Beginning of the player name",
+                            example = "ikee",
+                            required = true
+                    ),
+                    @OpenApiParam(
+                            name = "limit",
+                            type = Integer.class,
+                            description = "Maximum number of names to return (1-" + MAX_SEARCH_LIMIT + ", default: " +
+                                    DEFAULT_SEARCH_LIMIT + ")",
+                            example = "10"
+                    )
+            },
+            responses = {
+                    @OpenApiResponse(status = "200", description = "Successfully searched player names",
+                            content = @OpenApiContent(
+                                    from = PlayerSearchResponse.class,
+                                    mimeType = "application/json",
+                                    example = """
+                                            {
+                                              "prefix": "ikee",
+                                              "players": [
+                                                {
+                                                  "name": "ikeepcalm",
+                                                  "uuid": "123e4567-e89b-12d3-a456-426614174000",
+                                                  "online": true
+                                                }
+                                              ]
+                                            }
+                                            """
+                            )),
+                    @OpenApiResponse(status = "400", description = "Missing prefix or invalid limit",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "500", description = "Internal server error occurred while searching names",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "503", description = "Statistics are still loading after a server start, or too many requests are in flight",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json")),
+                    @OpenApiResponse(status = "504", description = "The request did not finish within the configured timeout",
+                            content = @OpenApiContent(from = BridgeApiResponse.class, mimeType = "application/json"))
+            }
+    )
+    @BridgeEventHandler(requiresAuth = false, description = "Searches player names by prefix", logRequests = true, scopes = {"stats"})
+    public CompletableFuture<BridgeApiResponse<PlayerSearchResponse>> searchPlayers(@BridgeQueryParam("prefix") String prefix,
+                                                                                    @BridgeQueryParam("limit") String limitParam) {
+        if (!statsManager.isReady()) {
+            return warmingUp();
+        }
+
+        if (prefix == null || prefix.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    BridgeApiResponse.error("Prefix parameter is required", HttpStatus.BAD_REQUEST)
+            );
+        }
+
+        int limit = DEFAULT_SEARCH_LIMIT;
+        if (limitParam != null && !limitParam.isEmpty()) {
+            try {
+                limit = Math.min(Math.max(Integer.parseInt(limitParam), 1), MAX_SEARCH_LIMIT);
+            } catch (NumberFormatException e) {
+                return CompletableFuture.completedFuture(
+                        BridgeApiResponse.error("Invalid limit parameter", HttpStatus.BAD_REQUEST)
+                );
+            }
+        }
+
+        String trimmed = prefix.trim();
+        int searchLimit = limit;
+        return executor.submit("search", () -> {
+            try {
+                List<PlayerNameData> players = new ArrayList<>();
+                for (NameIndex.Entry entry : statsManager.searchPlayerNames(trimmed, searchLimit)) {
+                    players.add(PlayerNameData.builder()
+                            .name(entry.name())
+                            .uuid(entry.uuid().toString())
+                            .online(statsManager.getOnlinePlayers().get(entry.uuid()) != null)
+                            .build());
+                }
+
+                PlayerSearchResponse response = PlayerSearchResponse.builder()
+                        .prefix(trimmed)
+                        .players(players)
+                        .build();
+                return BridgeApiResponse.success(response);
+            } catch (Exception e) {
+                logError("Failed to search player names for: " + trimmed, e);
+                return BridgeApiResponse.error("Failed to search player names", HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+        });
+    }
+
+    @OpenApi(
+            path = "/stats/cache",
+            methods = HttpMethod.GET,
+            summary = "Get response cache statistics",
+            description = "Returns hit, miss, eviction and invalidation counters of the in-memory response cache that " +
+                    "sits in front of the summary, online, hourly and top players endpoints. Useful for tuning the " +
+                    "per-endpoint TTLs in config.yml.",
+            tags = {"Server Statistics"},
+            responses = {
+                    @OpenApiResponse(status = "200", description = "Successfully retrieved cache statistics",
+                            content = @OpenApiContent(
+                                    from = CacheStatsResponse.class,
+                                    mimeType = "application/json",
+                                    example = """
+                                            {
+                                              "hits": 18234,
+                                              "misses": 412,
+                                              "hit_ratio": 0.978,
+                                              "evictions": 3,
+                                              "invalidations": 97,
+                                              "size": 12,
+                                              "max_entries": 256
+                                            }
+                                            """
+                            ))
+            }
+    )
+    @BridgeEventHandler(requiresAuth = false, description = "Returns response cache statistics", logRequests = true, scopes = {"stats"})
+    public CompletableFuture<BridgeApiResponse<CacheStatsResponse>> getCacheStats() {
+        long hits = responseCache.getHits();
+        long misses = responseCache.getMisses();
+
+        CacheStatsResponse response = CacheStatsResponse.builder()
+                .hits(hits)
+                .misses(misses)
+                .hitRatio(hits + misses > 0 ? hits / (double) (hits + misses) : 0.0)
+                .evictions(responseCache.getEvictions())
+                .invalidations(responseCache.getInvalidations())
+                .size(responseCache.size())
+                .maxEntries(responseCache.getMaxEntries())
+                .build();
+        return CompletableFuture.completedFuture(BridgeApiResponse.success(response));
+    }
+
+    /**
+     * Version tag of the datasets an endpoint is built from. Versions are read before the payload is built, so a
+     * tag is never newer than the data it is sent with, and cached payloads are keyed by the tag they carry.
+     */
+    private String etag(String endpoint) {
+        long version = 0;
+        for (StatsDataset dataset : responseCache.getDependencies(endpoint)) {
+            version += statsManager.getDataVersion(dataset);
+        }
+        return "\"" + Long.toString(statsManager.getDataEpoch(), 36) + "-" + version + "\"";
+    }
+
+    private long lastModified(String endpoint) {
+        long lastModified = statsManager.getDataEpoch();
+        for (StatsDataset dataset : responseCache.getDependencies(endpoint)) {
+            lastModified = Math.max(lastModified, statsManager.getLastModified(dataset));
+        }
+        return lastModified;
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || ("\"" + tag + "\"").equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A real 304 cannot carry the envelope, so an unchanged resource is answered as a success whose body only
+     * holds not_modified and the etag; clients checking success never mistake a cache hit for a failure.
+     */
+    private <T> CompletableFuture<BridgeApiResponse<T>> notModified(T response) {
+        return CompletableFuture.completedFuture(BridgeApiResponse.success(response));
+    }
+
+    private <T> CompletableFuture<BridgeApiResponse<T>> warmingUp() {
+        return CompletableFuture.completedFuture(
+                BridgeApiResponse.error("Statistics are warming up, try again shortly", HttpStatus.SERVICE_UNAVAILABLE)
+        );
     }
 
     private void logError(String message, Throwable e) {
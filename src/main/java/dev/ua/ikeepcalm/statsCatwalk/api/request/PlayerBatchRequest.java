@@ -0,0 +1,45 @@
+package dev.ua.ikeepcalm.statsCatwalk.api.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
+import io.javalin.openapi.JsonSchema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSchema
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ApiSchema(
+        description = "Players to look up in one request, by name, by UUID or both",
+        properties = {
+                @ApiProperty(
+                        name = "names",
+                        type = "array",
+                        description = "Player names, matched case-insensitively",
+                        example = "[\"ikeepcalm\", \"player2\"]"
+                ),
+                @ApiProperty(
+                        name = "uuids",
+                        type = "array",
+                        description = "Player UUIDs",
+                        example = "[\"123e4567-e89b-12d3-a456-426614174000\"]"
+                )
+        }
+)
+public class PlayerBatchRequest {
+
+    @JsonProperty("names")
+    private List<String> names;
+
+    @JsonProperty("uuids")
+    private List<String> uuids;
+}
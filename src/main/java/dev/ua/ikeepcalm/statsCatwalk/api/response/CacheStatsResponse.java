@@ -0,0 +1,95 @@
+package dev.ua.ikeepcalm.statsCatwalk.api.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
+import io.javalin.openapi.JsonSchema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSchema
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ApiSchema(
+        description = "Response cache counters since the plugin was enabled",
+        properties = {
+                @ApiProperty(
+                        name = "hits",
+                        type = "long",
+                        description = "Requests served from the cache",
+                        required = true,
+                        example = "18234"
+                ),
+                @ApiProperty(
+                        name = "misses",
+                        type = "long",
+                        description = "Requests that had to compute a fresh response",
+                        required = true,
+                        example = "412"
+                ),
+                @ApiProperty(
+                        name = "hit_ratio",
+                        type = "number",
+                        description = "Share of requests served from the cache (0-1)",
+                        required = true,
+                        example = "0.978"
+                ),
+                @ApiProperty(
+                        name = "evictions",
+                        type = "long",
+                        description = "Entries dropped to stay within the size limit",
+                        required = true,
+                        example = "3"
+                ),
+                @ApiProperty(
+                        name = "invalidations",
+                        type = "long",
+                        description = "Entries dropped because the data behind them changed",
+                        required = true,
+                        example = "97"
+                ),
+                @ApiProperty(
+                        name = "size",
+                        type = "integer",
+                        description = "Entries currently cached",
+                        required = true,
+                        example = "12"
+                ),
+                @ApiProperty(
+                        name = "max_entries",
+                        type = "integer",
+                        description = "Configured size limit",
+                        required = true,
+                        example = "256"
+                )
+        }
+)
+public class CacheStatsResponse {
+
+    @JsonProperty("hits")
+    private Long hits;
+
+    @JsonProperty("misses")
+    private Long misses;
+
+    @JsonProperty("hit_ratio")
+    private Double hitRatio;
+
+    @JsonProperty("evictions")
+    private Long evictions;
+
+    @JsonProperty("invalidations")
+    private Long invalidations;
+
+    @JsonProperty("size")
+    private Integer size;
+
+    @JsonProperty("max_entries")
+    private Integer maxEntries;
+}
@@ -1,6 +1,7 @@
 package dev.ua.ikeepcalm.statsCatwalk.api.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
 import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
@@ -46,6 +47,18 @@ import lombok.NoArgsConstructor;
                         description = "Day of the week",
                         required = true,
                         example = "MONDAY"
+                ),
+                @ApiProperty(
+                        name = "min",
+                        type = "integer",
+                        description = "Lowest player count in the bucket, only present for hourly and daily resolution",
+                        example = "30"
+                ),
+                @ApiProperty(
+                        name = "max",
+                        type = "integer",
+                        description = "Highest player count in the bucket, only present for hourly and daily resolution",
+                        example = "58"
                 )
         }
 )
@@ -62,4 +75,12 @@ public class OnlinePlayerData {
     
     @JsonProperty("day")
     private String day;
+
+    @JsonProperty("min")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer min;
+
+    @JsonProperty("max")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer max;
 }
\ No newline at end of file
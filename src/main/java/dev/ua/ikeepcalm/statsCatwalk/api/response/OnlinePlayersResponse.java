@@ -1,6 +1,7 @@
 package dev.ua.ikeepcalm.statsCatwalk.api.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
 import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
@@ -25,8 +26,7 @@ import java.util.Map;
                 @ApiProperty(
                         name = "players",
                         type = "array",
-                        description = "List of historical online player data entries",
-                        required = true,
+                        description = "List of historical online player data entries, absent when a columnar format was requested",
                         example = "[{\"timestamp\": 1704067200000, \"online\": 45, \"hour\": 12, \"day\": \"MONDAY\"}]"
                 ),
                 @ApiProperty(
@@ -35,14 +35,76 @@ import java.util.Map;
                         description = "Player count distribution by hour of day (0-23)",
                         required = true,
                         example = "{\"0\": 12, \"1\": 8, \"12\": 45, \"18\": 67}"
+                ),
+                @ApiProperty(
+                        name = "resolution",
+                        type = "string",
+                        description = "Granularity of the players entries: raw, hourly or daily",
+                        required = true,
+                        example = "raw"
+                ),
+                @ApiProperty(
+                        name = "columns",
+                        type = "object",
+                        description = "The same entries in a columnar layout, only present when format is columnar or packed"
+                ),
+                @ApiProperty(
+                        name = "next_cursor",
+                        type = "long",
+                        description = "Value to pass as 'from' to fetch the next page, absent on the last page",
+                        example = "1704153600000"
+                ),
+                @ApiProperty(
+                        name = "etag",
+                        type = "string",
+                        description = "Version of the data behind this response, pass it as ifNoneMatch to get a not_modified answer while it is unchanged",
+                        example = "\"lr8x2k1c-42\""
+                ),
+                @ApiProperty(
+                        name = "last_modified",
+                        type = "long",
+                        description = "Unix timestamp in milliseconds of the last change to the data behind this response",
+                        example = "1704067200000"
+                ),
+                @ApiProperty(
+                        name = "not_modified",
+                        type = "boolean",
+                        description = "Present and true when ifNoneMatch matched; the response then carries no data",
+                        example = "true"
                 )
         }
 )
 public class OnlinePlayersResponse {
     
     @JsonProperty("players")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<OnlinePlayerData> players;
+
+    @JsonProperty("columns")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private OnlineSeriesColumns columns;
     
     @JsonProperty("hourly_distribution")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Map<String, Integer> hourlyDistribution;
+
+    @JsonProperty("resolution")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String resolution;
+
+    @JsonProperty("next_cursor")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long nextCursor;
+
+    @JsonProperty("etag")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String etag;
+
+    @JsonProperty("last_modified")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long lastModified;
+
+    @JsonProperty("not_modified")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean notModified;
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package dev.ua.ikeepcalm.statsCatwalk.api.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
+import io.javalin.openapi.JsonSchema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSchema
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@ApiSchema(
+        description = "Online history in a columnar layout, either as parallel arrays or packed into one base64 string",
+        properties = {
+                @ApiProperty(
+                        name = "count",
+                        type = "integer",
+                        description = "Number of points",
+                        required = true,
+                        example = "3"
+                ),
+                @ApiProperty(
+                        name = "time_zone",
+                        type = "string",
+                        description = "Server time zone, for deriving hour of day and day of week from the timestamps",
+                        required = true,
+                        example = "Europe/Kyiv"
+                ),
+                @ApiProperty(
+                        name = "timestamp_deltas",
+                        type = "array",
+                        description = "Milliseconds since the previous point, the first entry is the absolute timestamp (columnar format)",
+                        example = "[1704067200000, 600000, 600000]"
+                ),
+                @ApiProperty(
+                        name = "online",
+                        type = "array",
+                        description = "Player count of every point (columnar format)",
+                        example = "[45, 47, 44]"
+                ),
+                @ApiProperty(
+                        name = "min",
+                        type = "array",
+                        description = "Lowest player count of every bucket, only for aggregated points (columnar format)",
+                        example = "[40, 41, 39]"
+                ),
+                @ApiProperty(
+                        name = "max",
+                        type = "array",
+                        description = "Highest player count of every bucket, only for aggregated points (columnar format)",
+                        example = "[52, 55, 50]"
+                ),
+                @ApiProperty(
+                        name = "packed",
+                        type = "string",
+                        description = "Base64 of: version byte, flags byte (bit 0 = min/max present), then per point a zigzag " +
+                                "varint timestamp delta, a varint count and, if flagged, varint min and max (packed format)",
+                        example = "AQCA0I+lmGMtgJ9JL4CfSSw="
+                )
+        }
+)
+public class OnlineSeriesColumns {
+
+    @JsonProperty("count")
+    private Integer count;
+
+    @JsonProperty("time_zone")
+    private String timeZone;
+
+    @JsonProperty("timestamp_deltas")
+    private long[] timestampDeltas;
+
+    @JsonProperty("online")
+    private int[] online;
+
+    @JsonProperty("min")
+    private int[] min;
+
+    @JsonProperty("max")
+    private int[] max;
+
+    @JsonProperty("packed")
+    private String packed;
+}
@@ -0,0 +1,47 @@
+package dev.ua.ikeepcalm.statsCatwalk.api.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
+import io.javalin.openapi.JsonSchema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSchema
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ApiSchema(
+        description = "Batch player lookup response",
+        properties = {
+                @ApiProperty(
+                        name = "players",
+                        type = "array",
+                        description = "Stats of every player that was found, in request order",
+                        required = true,
+                        example = "[{\"query\": \"ikeepcalm\", \"name\": \"ikeepcalm\", \"uuid\": \"123e4567-e89b-12d3-a456-426614174000\", \"playtime\": 12450000, \"level\": 30, \"online\": true, \"rank\": 17}]"
+                ),
+                @ApiProperty(
+                        name = "not_found",
+                        type = "array",
+                        description = "Requested names and UUIDs that have never played on this server",
+                        required = true,
+                        example = "[\"unknown_player\"]"
+                )
+        }
+)
+public class PlayerBatchResponse {
+
+    @JsonProperty("players")
+    private List<PlayerLookupData> players;
+
+    @JsonProperty("not_found")
+    private List<String> notFound;
+}
@@ -0,0 +1,94 @@
+package dev.ua.ikeepcalm.statsCatwalk.api.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
+import io.javalin.openapi.JsonSchema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSchema
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ApiSchema(
+        description = "Stats of one player from a batch lookup",
+        properties = {
+                @ApiProperty(
+                        name = "query",
+                        type = "string",
+                        description = "The name or UUID this entry was requested by",
+                        required = true,
+                        example = "ikeepcalm"
+                ),
+                @ApiProperty(
+                        name = "name",
+                        type = "string",
+                        description = "Player name",
+                        example = "ikeepcalm"
+                ),
+                @ApiProperty(
+                        name = "uuid",
+                        type = "string",
+                        description = "Player UUID",
+                        required = true,
+                        example = "123e4567-e89b-12d3-a456-426614174000"
+                ),
+                @ApiProperty(
+                        name = "playtime",
+                        type = "long",
+                        description = "Total playtime in milliseconds, including the running session",
+                        required = true,
+                        example = "12450000"
+                ),
+                @ApiProperty(
+                        name = "level",
+                        type = "integer",
+                        description = "Current XP level when online, otherwise the level at the last logout",
+                        required = true,
+                        example = "30"
+                ),
+                @ApiProperty(
+                        name = "online",
+                        type = "boolean",
+                        description = "Whether the player is currently online",
+                        required = true,
+                        example = "true"
+                ),
+                @ApiProperty(
+                        name = "rank",
+                        type = "integer",
+                        description = "Position on the playtime leaderboard, starting at 1",
+                        required = true,
+                        example = "17"
+                )
+        }
+)
+public class PlayerLookupData {
+
+    @JsonProperty("query")
+    private String query;
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("uuid")
+    private String uuid;
+
+    @JsonProperty("playtime")
+    private Long playtime;
+
+    @JsonProperty("level")
+    private Integer level;
+
+    @JsonProperty("online")
+    private Boolean online;
+
+    @JsonProperty("rank")
+    private Integer rank;
+}
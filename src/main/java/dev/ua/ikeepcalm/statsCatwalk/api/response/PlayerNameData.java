@@ -0,0 +1,55 @@
+package dev.ua.ikeepcalm.statsCatwalk.api.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
+import io.javalin.openapi.JsonSchema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSchema
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ApiSchema(
+        description = "Player name matching a search prefix",
+        properties = {
+                @ApiProperty(
+                        name = "name",
+                        type = "string",
+                        description = "Player's name as last seen on this server",
+                        required = true,
+                        example = "ikeepcalm"
+                ),
+                @ApiProperty(
+                        name = "uuid",
+                        type = "string",
+                        description = "Player's UUID",
+                        required = true,
+                        example = "123e4567-e89b-12d3-a456-426614174000"
+                ),
+                @ApiProperty(
+                        name = "online",
+                        type = "boolean",
+                        description = "Whether the player is currently online",
+                        required = true,
+                        example = "true"
+                )
+        }
+)
+public class PlayerNameData {
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("uuid")
+    private String uuid;
+
+    @JsonProperty("online")
+    private boolean online;
+}
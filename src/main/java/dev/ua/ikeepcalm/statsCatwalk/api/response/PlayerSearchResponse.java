@@ -0,0 +1,47 @@
+package dev.ua.ikeepcalm.statsCatwalk.api.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
+import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
+import io.javalin.openapi.JsonSchema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSchema
+@JsonIgnoreProperties(ignoreUnknown = true)
+@ApiSchema(
+        description = "Player name search response",
+        properties = {
+                @ApiProperty(
+                        name = "prefix",
+                        type = "string",
+                        description = "Prefix that was searched for",
+                        required = true,
+                        example = "ikee"
+                ),
+                @ApiProperty(
+                        name = "players",
+                        type = "array",
+                        description = "Players whose name starts with the prefix, ordered by name",
+                        required = true,
+                        example = "[{\"name\": \"ikeepcalm\", \"uuid\": \"123e4567-e89b-12d3-a456-426614174000\", \"online\": true}]"
+                )
+        }
+)
+public class PlayerSearchResponse {
+
+    @JsonProperty("prefix")
+    private String prefix;
+
+    @JsonProperty("players")
+    private List<PlayerNameData> players;
+}
@@ -1,6 +1,7 @@
 package dev.ua.ikeepcalm.statsCatwalk.api.response;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import dev.ua.uaproject.catwalk.bridge.annotations.ApiProperty;
 import dev.ua.uaproject.catwalk.bridge.annotations.ApiSchema;
@@ -27,11 +28,42 @@ import java.util.List;
                         description = "List of top players sorted by playtime or other metrics",
                         required = true,
                         example = "[{\"name\": \"ikeepcalm\", \"uuid\": \"123e4567-e89b-12d3-a456-426614174000\", \"playtime\": 12450000, \"online\": true, \"level\": 30, \"health\": 20.0}]"
+                ),
+                @ApiProperty(
+                        name = "etag",
+                        type = "string",
+                        description = "Version of the data behind this response, pass it as ifNoneMatch to get a not_modified answer while it is unchanged",
+                        example = "\"lr8x2k1c-42\""
+                ),
+                @ApiProperty(
+                        name = "last_modified",
+                        type = "long",
+                        description = "Unix timestamp in milliseconds of the last change to the data behind this response",
+                        example = "1704067200000"
+                ),
+                @ApiProperty(
+                        name = "not_modified",
+                        type = "boolean",
+                        description = "Present and true when ifNoneMatch matched; the response then carries no data",
+                        example = "true"
                 )
         }
 )
 public class TopPlayersResponse {
 
     @JsonProperty("players")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<TopPlayerData> players;
+
+    @JsonProperty("etag")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String etag;
+
+    @JsonProperty("last_modified")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long lastModified;
+
+    @JsonProperty("not_modified")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean notModified;
 }
\ No newline at end of file
@@ -2,24 +2,68 @@ package dev.ua.ikeepcalm.statsCatwalk.config;
 
 import dev.ua.ikeepcalm.statsCatwalk.StatsCatwalk;
 import lombok.Getter;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Getter
 public class StatsConfig {
     
     private final int collectionIntervalMinutes;
     private final int dataRetentionDays;
+    private final int hourlyRollupRetentionDays;
+    private final int dailyRollupRetentionDays;
     private final boolean enableTpsTracking;
     private final int maxTopPlayersLimit;
     private final boolean saveOnPlayerQuit;
+    private final String storageBackend;
+    private final long flushWindowMillis;
+    private final int shutdownFlushTimeoutSeconds;
+    private final int cacheMaxEntries;
+    private final int summaryCacheTtlSeconds;
+    private final int onlineCacheTtlSeconds;
+    private final int hourlyCacheTtlSeconds;
+    private final int topPlayersCacheTtlSeconds;
+    private final boolean apiVirtualThreads;
+    private final int apiThreads;
+    private final int apiMaxConcurrentRequests;
+    private final long apiDefaultTimeoutMillis;
+    private final Map<String, Long> apiEndpointTimeouts;
     
     public StatsConfig(StatsCatwalk plugin) {
         FileConfiguration config = plugin.getConfig();
         
         this.collectionIntervalMinutes = config.getInt("collection.intervalMinutes", 10);
         this.dataRetentionDays = config.getInt("collection.dataRetentionDays", 14);
+        this.hourlyRollupRetentionDays = config.getInt("rollups.hourlyRetentionDays", 90);
+        this.dailyRollupRetentionDays = config.getInt("rollups.dailyRetentionDays", 365);
         this.enableTpsTracking = config.getBoolean("features.enableTpsTracking", true);
         this.maxTopPlayersLimit = config.getInt("features.maxTopPlayersLimit", 100);
         this.saveOnPlayerQuit = config.getBoolean("features.saveOnPlayerQuit", true);
+        this.storageBackend = config.getString("storage.backend", "file");
+        this.flushWindowMillis = config.getLong("storage.flushWindowMillis", 1000L);
+        this.shutdownFlushTimeoutSeconds = config.getInt("storage.shutdownFlushTimeoutSeconds", 10);
+        this.cacheMaxEntries = config.getInt("cache.maxEntries", 256);
+        this.summaryCacheTtlSeconds = config.getInt("cache.ttlSeconds.summary", 10);
+        this.onlineCacheTtlSeconds = config.getInt("cache.ttlSeconds.online", 60);
+        this.hourlyCacheTtlSeconds = config.getInt("cache.ttlSeconds.hourly", 30);
+        this.topPlayersCacheTtlSeconds = config.getInt("cache.ttlSeconds.topplayers", 15);
+        this.apiVirtualThreads = config.getBoolean("api.virtualThreads", true);
+        this.apiThreads = config.getInt("api.threads", 4);
+        this.apiMaxConcurrentRequests = config.getInt("api.maxConcurrentRequests", 64);
+        this.apiDefaultTimeoutMillis = config.getLong("api.timeoutMillis.default", 5000L);
+
+        Map<String, Long> timeouts = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("api.timeoutMillis");
+        if (section != null) {
+            for (String endpoint : section.getKeys(false)) {
+                if (!"default".equals(endpoint)) {
+                    timeouts.put(endpoint, section.getLong(endpoint, apiDefaultTimeoutMillis));
+                }
+            }
+        }
+        this.apiEndpointTimeouts = Map.copyOf(timeouts);
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+public enum DownsampleMode {
+    LTTB,
+    MINMAX;
+
+    public String getKey() {
+        return name().toLowerCase();
+    }
+
+    public static DownsampleMode fromKey(String key) {
+        for (DownsampleMode mode : values()) {
+            if (mode.getKey().equalsIgnoreCase(key)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
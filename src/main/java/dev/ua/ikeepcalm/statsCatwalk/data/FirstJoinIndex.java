@@ -0,0 +1,66 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import java.util.Arrays;
+
+/**
+ * Sorted first-join timestamps of every player the server has seen.
+ * <p>
+ * Seeded once from the server's player data, then extended as new players join. The seed must be enumerated
+ * before the first join is reported, so every added join belongs to a player the seed does not contain. First
+ * joins almost always arrive in time order, so an add is an append; counting players who joined since a point
+ * in time is a binary search.
+ */
+public class FirstJoinIndex {
+
+    private long[] firstJoins = new long[16];
+    private int size;
+
+    public synchronized void seed(long[] timestamps) {
+        long[] sorted = timestamps.clone();
+        Arrays.sort(sorted);
+
+        long[] merged = new long[Math.max(16, sorted.length + size)];
+        int count = 0;
+        for (long timestamp : sorted) {
+            merged[count++] = timestamp;
+        }
+        // Keep joins that were added while the seed was being read
+        System.arraycopy(firstJoins, 0, merged, count, size);
+        count += size;
+        Arrays.sort(merged, 0, count);
+
+        firstJoins = merged;
+        size = count;
+    }
+
+    public synchronized void add(long firstJoin) {
+        if (size == firstJoins.length) {
+            firstJoins = Arrays.copyOf(firstJoins, size * 2);
+        }
+        int position = size;
+        while (position > 0 && firstJoins[position - 1] > firstJoin) {
+            position--;
+        }
+        System.arraycopy(firstJoins, position, firstJoins, position + 1, size - position);
+        firstJoins[position] = firstJoin;
+        size++;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int countSince(long since) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (firstJoins[mid] < since) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return size - low;
+    }
+}
@@ -0,0 +1,105 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Online player counts indexed by local epoch day and minute of day.
+ * <p>
+ * Days live in a ring of fixed rows, one {@link AtomicIntegerArray} of 1440 minutes each, so a write is a
+ * single array store and reading a day never touches other days. A row is reused once its day falls out of
+ * retention; -1 marks a minute without a sample.
+ */
+public class HourlyDistribution {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final long DAY_MILLIS = MINUTES_PER_DAY * 60 * 1000L;
+
+    private static final int EMPTY = -1;
+
+    private final AtomicReferenceArray<DayRow> days;
+
+    public HourlyDistribution(int retentionDays) {
+        this.days = new AtomicReferenceArray<>(Math.max(1, retentionDays) + 1);
+    }
+
+    public static long toLocalMillis(long timestamp, ZoneId zone) {
+        return timestamp + zone.getRules().getOffset(Instant.ofEpochMilli(timestamp)).getTotalSeconds() * 1000L;
+    }
+
+    public static long epochDay(long localMillis) {
+        return Math.floorDiv(localMillis, DAY_MILLIS);
+    }
+
+    public static int minuteOfDay(long localMillis) {
+        return (int) (Math.floorMod(localMillis, DAY_MILLIS) / (60 * 1000L));
+    }
+
+    public boolean put(long epochDay, int minuteOfDay, int count) {
+        DayRow row = row(epochDay, true);
+        if (row == null) {
+            return false;
+        }
+        row.counts.set(minuteOfDay, count);
+        return true;
+    }
+
+    public int get(long epochDay, int minuteOfDay) {
+        DayRow row = row(epochDay, false);
+        return row == null ? EMPTY : row.counts.get(minuteOfDay);
+    }
+
+    public int forEachInDay(long epochDay, MinuteConsumer consumer) {
+        DayRow row = row(epochDay, false);
+        if (row == null) {
+            return 0;
+        }
+
+        int visited = 0;
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            int count = row.counts.get(minute);
+            if (count != EMPTY) {
+                consumer.accept(minute, count);
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    private DayRow row(long epochDay, boolean create) {
+        int index = (int) Math.floorMod(epochDay, (long) days.length());
+        while (true) {
+            DayRow row = days.get(index);
+            if (row != null && row.epochDay == epochDay) {
+                return row;
+            }
+            if (!create || (row != null && row.epochDay > epochDay)) {
+                return null;
+            }
+
+            DayRow fresh = new DayRow(epochDay);
+            if (days.compareAndSet(index, row, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static final class DayRow {
+        private final long epochDay;
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(MINUTES_PER_DAY);
+
+        private DayRow(long epochDay) {
+            this.epochDay = epochDay;
+            for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+                counts.set(minute, EMPTY);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface MinuteConsumer {
+        void accept(int minuteOfDay, int count);
+    }
+}
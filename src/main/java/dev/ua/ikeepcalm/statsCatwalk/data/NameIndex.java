@@ -0,0 +1,153 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Case-insensitive index from player name to UUID, built from the player table and kept current on join.
+ * <p>
+ * Exact lookups hash the lower-cased name, so they cost O(name length). Prefix searches binary-search an
+ * immutable array of entries sorted by lower-cased name and scan forward, O(log n + k). Writes are serialized
+ * and swap in a new array; readers never lock. When several players have used a name, the one seen most
+ * recently owns it.
+ */
+public class NameIndex {
+
+    private static final Comparator<Entry> BY_KEY = Comparator.comparing(Entry::key);
+
+    private final Map<String, Entry> byKey = new ConcurrentHashMap<>();
+    private final Map<UUID, String> keyByUuid = new HashMap<>();
+    private volatile Entry[] sorted = new Entry[0];
+
+    public static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    public Entry get(String name) {
+        return byKey.get(key(name));
+    }
+
+    public int size() {
+        return byKey.size();
+    }
+
+    public List<Entry> search(String prefix, int limit) {
+        Entry[] entries = sorted;
+        String key = key(prefix);
+
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].key().compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        List<Entry> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = low; i < entries.length && result.size() < limit && entries[i].key().startsWith(key); i++) {
+            result.add(entries[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Single update, as on join. Costs one array copy rather than a re-sort.
+     */
+    public synchronized void put(UUID uuid, String name, long lastSeen) {
+        Entry entry = new Entry(key(name), name, uuid, lastSeen);
+        if (!owns(entry)) {
+            return;
+        }
+        Entry[] entries = sorted;
+        String displaced = claim(entry);
+        if (displaced != null) {
+            entries = remove(entries, displaced);
+        }
+        sorted = insert(entries, entry);
+    }
+
+    /**
+     * Bulk update, as when loading the player table. Applies every entry, then sorts once.
+     */
+    public synchronized void putAll(Collection<Entry> entries) {
+        for (Entry entry : entries) {
+            if (owns(entry)) {
+                claim(entry);
+            }
+        }
+        Entry[] rebuilt = byKey.values().toArray(new Entry[0]);
+        Arrays.sort(rebuilt, BY_KEY);
+        sorted = rebuilt;
+    }
+
+    private boolean owns(Entry entry) {
+        Entry owner = byKey.get(entry.key());
+        return owner == null || owner.uuid().equals(entry.uuid()) || owner.lastSeen() <= entry.lastSeen();
+    }
+
+    /**
+     * Points the entry's name at its player and drops the player's previous name. Returns the key that was
+     * dropped, if any.
+     */
+    private String claim(Entry entry) {
+        Entry owner = byKey.get(entry.key());
+        String displaced = null;
+        String previousKey = keyByUuid.put(entry.uuid(), entry.key());
+        if (previousKey != null && !previousKey.equals(entry.key())) {
+            Entry previous = byKey.get(previousKey);
+            if (previous != null && previous.uuid().equals(entry.uuid())) {
+                byKey.remove(previousKey);
+                displaced = previousKey;
+            }
+        }
+        if (owner != null && !owner.uuid().equals(entry.uuid())) {
+            keyByUuid.remove(owner.uuid(), entry.key());
+        }
+        byKey.put(entry.key(), entry);
+        return displaced;
+    }
+
+    private static Entry[] insert(Entry[] entries, Entry entry) {
+        int index = Arrays.binarySearch(entries, entry, BY_KEY);
+        if (index >= 0) {
+            Entry[] copy = entries.clone();
+            copy[index] = entry;
+            return copy;
+        }
+        int at = -index - 1;
+        Entry[] copy = new Entry[entries.length + 1];
+        System.arraycopy(entries, 0, copy, 0, at);
+        copy[at] = entry;
+        System.arraycopy(entries, at, copy, at + 1, entries.length - at);
+        return copy;
+    }
+
+    private static Entry[] remove(Entry[] entries, String key) {
+        int index = Arrays.binarySearch(entries, new Entry(key, key, null, 0L), BY_KEY);
+        if (index < 0) {
+            return entries;
+        }
+        Entry[] copy = new Entry[entries.length - 1];
+        System.arraycopy(entries, 0, copy, 0, index);
+        System.arraycopy(entries, index + 1, copy, index, entries.length - index - 1);
+        return copy;
+    }
+
+    public record Entry(String key, String name, UUID uuid, long lastSeen) {
+
+        public static Entry of(UUID uuid, String name, long lastSeen) {
+            return new Entry(NameIndex.key(name), name, uuid, lastSeen);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import dev.ua.ikeepcalm.statsCatwalk.storage.StatsStorage;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * Time-ordered ring of online samples in parallel primitive arrays.
+ * <p>
+ * Samples are addressed by an ever increasing sequence number; the slot is the sequence modulo capacity.
+ * There is a single writer (the loader during warm-up, then the collection task) and any number of lock-free
+ * readers. The writer claims a sequence before touching a slot and publishes it afterwards, so a reader can tell
+ * from the claimed sequence whether a slot it just read was being reused underneath it.
+ */
+public class OnlineHistoryBuffer {
+
+    private final long retentionMillis;
+    private final long[] timestamps;
+    private final int[] counts;
+
+    private volatile long head;
+    private volatile long claimed;
+    private volatile long published;
+
+    public OnlineHistoryBuffer(int capacity, long retentionMillis) {
+        this.retentionMillis = retentionMillis;
+        this.timestamps = new long[capacity];
+        this.counts = new int[capacity];
+    }
+
+    public static OnlineHistoryBuffer forRetention(int collectionIntervalMinutes, int retentionDays) {
+        int interval = Math.max(1, collectionIntervalMinutes);
+        int samples = (int) Math.ceil(retentionDays * 24 * 60 / (double) interval);
+        // Headroom for the extra sample taken right after every restart
+        int capacity = samples + samples / 8 + 16;
+        return new OnlineHistoryBuffer(capacity, retentionDays * 24 * 60 * 60 * 1000L);
+    }
+
+    /**
+     * Appends a sample newer than every sample already stored. Must only be called by one thread at a time.
+     */
+    public boolean add(long timestamp, int count) {
+        long tail = published;
+        if (tail > head && timestamp <= timestamps[slot(tail - 1)]) {
+            return false;
+        }
+
+        long first = head;
+        long cutoff = timestamp - retentionMillis;
+        while (first < tail && timestamps[slot(first)] < cutoff) {
+            first++;
+        }
+        head = Math.max(first, tail + 1 - timestamps.length);
+
+        claimed = tail + 1;
+        VarHandle.storeStoreFence();
+        int slot = slot(tail);
+        timestamps[slot] = timestamp;
+        counts[slot] = count;
+        published = tail + 1;
+        return true;
+    }
+
+    public int forEachSince(long since, StatsStorage.SampleConsumer consumer) {
+        return forEachBetween(since, Long.MAX_VALUE, Integer.MAX_VALUE, consumer);
+    }
+
+    public int forEachSince(long since, int limit, StatsStorage.SampleConsumer consumer) {
+        return forEachBetween(since, Long.MAX_VALUE, limit, consumer);
+    }
+
+    public int forEachBetween(long from, long to, StatsStorage.SampleConsumer consumer) {
+        return forEachBetween(from, to, Integer.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Visits at most {@code limit} samples with {@code from <= timestamp <= to} in time order. Finds the first
+     * sample by binary search, so the cost is O(log n + k) for k visited samples.
+     */
+    public int forEachBetween(long from, long to, int limit, StatsStorage.SampleConsumer consumer) {
+        long floor = Math.max(from, System.currentTimeMillis() - retentionMillis);
+
+        long tail;
+        long start;
+        do {
+            tail = published;
+            long first = Math.max(head, tail - timestamps.length);
+            start = lowerBound(first, tail, floor);
+            VarHandle.loadLoadFence();
+        } while (claimed - timestamps.length > start);
+
+        int visited = 0;
+        for (long sequence = start; sequence < tail && visited < limit; sequence++) {
+            int slot = slot(sequence);
+            long timestamp = timestamps[slot];
+            int count = counts[slot];
+            VarHandle.loadLoadFence();
+            if (claimed - timestamps.length > sequence) {
+                // Reused by the writer while we were reading, the sample it held is gone anyway
+                continue;
+            }
+            if (timestamp > to) {
+                break;
+            }
+            if (timestamp >= floor) {
+                consumer.accept(timestamp, count);
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    public int size() {
+        long tail = published;
+        return (int) Math.min(tail - head, timestamps.length);
+    }
+
+    public int capacity() {
+        return timestamps.length;
+    }
+
+    private long lowerBound(long low, long high, long timestamp) {
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (timestamps[slot(mid)] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % timestamps.length);
+    }
+}
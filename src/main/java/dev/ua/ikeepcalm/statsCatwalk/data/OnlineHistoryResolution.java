@@ -0,0 +1,20 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import lombok.Getter;
+
+@Getter
+public enum OnlineHistoryResolution {
+    RAW(0L),
+    HOURLY(60 * 60 * 1000L),
+    DAILY(24 * 60 * 60 * 1000L);
+
+    private final long bucketMillis;
+
+    OnlineHistoryResolution(long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+    }
+
+    public String getKey() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,73 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Copy of the online players' state, written only from the main thread by event handlers and read from any
+ * thread. Readers never touch Bukkit entities, so web requests cost two map lookups at most.
+ */
+public class OnlinePlayerMirror {
+
+    private final Map<UUID, OnlinePlayerState> byUuid = new ConcurrentHashMap<>();
+    private final Map<String, OnlinePlayerState> byName = new ConcurrentHashMap<>();
+
+    public void put(OnlinePlayerState state) {
+        OnlinePlayerState previous = byUuid.put(state.uuid(), state);
+        if (previous != null && !previous.name().equalsIgnoreCase(state.name())) {
+            byName.remove(key(previous.name()), previous);
+        }
+        byName.put(key(state.name()), state);
+    }
+
+    public void remove(UUID uuid) {
+        OnlinePlayerState previous = byUuid.remove(uuid);
+        if (previous != null) {
+            byName.remove(key(previous.name()), previous);
+        }
+    }
+
+    public void update(UUID uuid, UnaryOperator<OnlinePlayerState> change) {
+        OnlinePlayerState current = byUuid.get(uuid);
+        if (current != null) {
+            put(change.apply(current));
+        }
+    }
+
+    public OnlinePlayerState get(UUID uuid) {
+        return byUuid.get(uuid);
+    }
+
+    /**
+     * Exact, case-insensitive name lookup.
+     */
+    public OnlinePlayerState getByName(String name) {
+        return byName.get(key(name));
+    }
+
+    public boolean isOnline(String name) {
+        return byName.containsKey(key(name));
+    }
+
+    public int size() {
+        return byUuid.size();
+    }
+
+    public Collection<OnlinePlayerState> values() {
+        return Collections.unmodifiableCollection(byUuid.values());
+    }
+
+    public void clear() {
+        byUuid.clear();
+        byName.clear();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
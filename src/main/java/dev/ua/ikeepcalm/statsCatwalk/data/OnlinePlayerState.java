@@ -0,0 +1,18 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import java.util.UUID;
+
+public record OnlinePlayerState(UUID uuid, String name, int level, double health, String world) {
+
+    public OnlinePlayerState withLevel(int level) {
+        return new OnlinePlayerState(uuid, name, level, health, world);
+    }
+
+    public OnlinePlayerState withHealth(double health) {
+        return new OnlinePlayerState(uuid, name, level, health, world);
+    }
+
+    public OnlinePlayerState withWorld(String world) {
+        return new OnlinePlayerState(uuid, name, level, health, world);
+    }
+}
@@ -0,0 +1,181 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import java.util.Arrays;
+
+/**
+ * Growable column store of online points, either raw samples or rollup buckets, used to shape API responses
+ * without allocating an object per point until the final set of points is known.
+ */
+public class OnlineSeries {
+
+    private long[] timestamps;
+    private int[] mins;
+    private int[] maxs;
+    private long[] sums;
+    private int[] samples;
+    private int size;
+    private boolean aggregated;
+
+    public OnlineSeries(int capacity) {
+        int initial = Math.max(16, capacity);
+        this.timestamps = new long[initial];
+        this.mins = new int[initial];
+        this.maxs = new int[initial];
+        this.sums = new long[initial];
+        this.samples = new int[initial];
+    }
+
+    public void add(long timestamp, int count) {
+        add(timestamp, count, count, count, 1);
+    }
+
+    public void add(RollupBucket bucket) {
+        aggregated = true;
+        add(bucket.start(), bucket.min(), bucket.max(), bucket.sum(), bucket.samples());
+    }
+
+    public void add(long timestamp, int min, int max, long sum, int sampleCount) {
+        if (size == timestamps.length) {
+            int capacity = size + (size >> 1);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            mins = Arrays.copyOf(mins, capacity);
+            maxs = Arrays.copyOf(maxs, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+            samples = Arrays.copyOf(samples, capacity);
+        }
+        timestamps[size] = timestamp;
+        mins[size] = min;
+        maxs[size] = max;
+        sums[size] = sum;
+        samples[size] = sampleCount;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether points are buckets of several samples, so their min and max carry information.
+     */
+    public boolean isAggregated() {
+        return aggregated;
+    }
+
+    public void truncate(int newSize) {
+        size = Math.max(0, Math.min(size, newSize));
+    }
+
+    public long timestamp(int index) {
+        return timestamps[index];
+    }
+
+    public int min(int index) {
+        return mins[index];
+    }
+
+    public int max(int index) {
+        return maxs[index];
+    }
+
+    public int average(int index) {
+        return samples[index] == 0 ? 0 : (int) Math.round(sums[index] / (double) samples[index]);
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets: keeps the first and last point and, from each of {@code threshold - 2}
+     * equal-count buckets in between, the point forming the largest triangle with the previously kept point
+     * and the average of the next bucket. Preserves peaks and dips that plain averaging would flatten.
+     */
+    public OnlineSeries lttb(int threshold) {
+        if (threshold >= size || threshold < 3) {
+            return threshold >= size ? this : firstAndLast(threshold);
+        }
+
+        OnlineSeries result = new OnlineSeries(threshold);
+        result.aggregated = aggregated;
+        double every = (size - 2) / (double) (threshold - 2);
+        int kept = 0;
+        result.copy(this, kept);
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            int nextStart = (int) Math.floor((bucket + 1) * every) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * every) + 1, size);
+            double nextX = 0;
+            double nextY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                nextX += timestamps[i];
+                nextY += average(i);
+            }
+            int nextCount = Math.max(1, nextEnd - nextStart);
+            nextX /= nextCount;
+            nextY /= nextCount;
+
+            int start = (int) Math.floor(bucket * every) + 1;
+            int end = (int) Math.floor((bucket + 1) * every) + 1;
+            double keptX = timestamps[kept];
+            double keptY = average(kept);
+
+            double largestArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((keptX - nextX) * (average(i) - keptY)
+                        - (keptX - timestamps[i]) * (nextY - keptY));
+                if (area > largestArea) {
+                    largestArea = area;
+                    chosen = i;
+                }
+            }
+            result.copy(this, chosen);
+            kept = chosen;
+        }
+
+        result.copy(this, size - 1);
+        return result;
+    }
+
+    /**
+     * Merges runs of consecutive points into {@code buckets} equal-count buckets carrying the minimum, maximum
+     * and sample-weighted average of the run.
+     */
+    public OnlineSeries minMax(int buckets) {
+        if (buckets >= size || buckets < 1) {
+            return this;
+        }
+
+        OnlineSeries result = new OnlineSeries(buckets);
+        result.aggregated = true;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int start = (int) ((long) bucket * size / buckets);
+            int end = (int) ((long) (bucket + 1) * size / buckets);
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            long sum = 0;
+            int sampleCount = 0;
+            for (int i = start; i < end; i++) {
+                min = Math.min(min, mins[i]);
+                max = Math.max(max, maxs[i]);
+                sum += sums[i];
+                sampleCount += samples[i];
+            }
+            result.add(timestamps[start], min, max, sum, sampleCount);
+        }
+        return result;
+    }
+
+    private OnlineSeries firstAndLast(int threshold) {
+        OnlineSeries result = new OnlineSeries(2);
+        result.aggregated = aggregated;
+        if (size > 0) {
+            result.copy(this, 0);
+            if (threshold > 1 && size > 1) {
+                result.copy(this, size - 1);
+            }
+        }
+        return result;
+    }
+
+    private void copy(OnlineSeries source, int index) {
+        add(source.timestamps[index], source.mins[index], source.maxs[index], source.sums[index], source.samples[index]);
+    }
+}
@@ -0,0 +1,438 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import dev.ua.ikeepcalm.statsCatwalk.storage.StatsStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Player stats in primitive columns indexed by the dense id from a {@link UuidDictionary}.
+ * <p>
+ * A session start of 0 means the player is offline and a null name means it is not known yet.
+ * <p>
+ * Table-wide totals are running sums kept up to date on load and on every finished session. Time spent in
+ * running sessions is {@code online * now - sum(session starts)}, so totals and averages never scan the table.
+ * <p>
+ * The leaderboard is kept as {@code ranking}, every id ordered by stored playtime, plus the inverse
+ * {@code rankIndex}. A finished session only moves one id towards the front. Running sessions are not written
+ * into the ranking; reads merge the few online players in by their live playtime, so offline players are never
+ * re-sorted and a top-K read costs O(K + online log online).
+ */
+public class PlayerTable {
+
+    private static final int NOT_FOUND = -1;
+
+    private final UuidDictionary dictionary;
+    private final BitSet dirty = new BitSet();
+
+    private int[] ranking;
+    private int[] rankIndex;
+    private boolean rankingStale;
+    private int[] online = new int[16];
+    private int onlineCount;
+
+    private long[] playtimes;
+    private long[] sessionStarts;
+    private long[] lastSeen;
+    private int[] levels;
+    private String[] names;
+    private int[] sessionCounts;
+    private long[] sessionTimes;
+
+    private long completedPlaytime;
+    private long sessionStartSum;
+    private long totalSessions;
+    private long totalSessionTime;
+
+    public PlayerTable(int expectedPlayers) {
+        int capacity = Math.max(16, expectedPlayers);
+        this.dictionary = new UuidDictionary(capacity);
+        this.playtimes = new long[capacity];
+        this.sessionStarts = new long[capacity];
+        this.lastSeen = new long[capacity];
+        this.levels = new int[capacity];
+        this.names = new String[capacity];
+        this.sessionCounts = new int[capacity];
+        this.sessionTimes = new long[capacity];
+        this.ranking = new int[capacity];
+        this.rankIndex = new int[capacity];
+    }
+
+    public synchronized int size() {
+        return dictionary.size();
+    }
+
+    public synchronized void load(StatsStorage.PlayerRecord record) {
+        int id = intern(record.uuid());
+        completedPlaytime += record.playtime() - playtimes[id];
+        totalSessions += record.sessions() - sessionCounts[id];
+        totalSessionTime += record.sessionTime() - sessionTimes[id];
+
+        playtimes[id] = record.playtime();
+        levels[id] = record.level();
+        lastSeen[id] = record.lastSeen();
+        names[id] = record.name();
+        sessionCounts[id] = record.sessions();
+        sessionTimes[id] = record.sessionTime();
+        // Bulk loads re-sort once on the next read instead of moving every record into place
+        rankingStale = true;
+    }
+
+    public synchronized void startSession(UUID uuid, long now) {
+        int id = intern(uuid);
+        if (sessionStarts[id] == 0) {
+            if (onlineCount == online.length) {
+                online = Arrays.copyOf(online, onlineCount * 2);
+            }
+            online[onlineCount++] = id;
+        }
+        sessionStartSum += now - sessionStarts[id];
+        sessionStarts[id] = now;
+    }
+
+    public synchronized void endSession(UUID uuid, long now, Integer level) {
+        int id = intern(uuid);
+        // A quit without a tracked join only refreshes the record, it must not count as a session
+        if (sessionStarts[id] != 0) {
+            long duration = now - sessionStarts[id];
+
+            playtimes[id] += duration;
+            sessionCounts[id]++;
+            sessionTimes[id] += duration;
+            completedPlaytime += duration;
+            totalSessions++;
+            totalSessionTime += duration;
+
+            sessionStartSum -= sessionStarts[id];
+            sessionStarts[id] = 0;
+            removeOnline(id);
+            promote(id);
+        }
+        lastSeen[id] = now;
+        if (level != null) {
+            levels[id] = level;
+        }
+        dirty.set(id);
+    }
+
+    public synchronized void setName(UUID uuid, String name) {
+        int id = intern(uuid);
+        if (name != null && !name.equals(names[id])) {
+            names[id] = name;
+            dirty.set(id);
+        }
+    }
+
+    public synchronized String getName(UUID uuid) {
+        int id = dictionary.find(uuid);
+        return id == NOT_FOUND ? null : names[id];
+    }
+
+    public synchronized List<UUID> getUnnamed() {
+        List<UUID> unnamed = new ArrayList<>();
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (names[id] == null) {
+                unnamed.add(dictionary.uuid(id));
+            }
+        }
+        return unnamed;
+    }
+
+    public synchronized boolean contains(UUID uuid) {
+        return dictionary.find(uuid) != NOT_FOUND;
+    }
+
+    /**
+     * Stored playtime plus the running session, or null for a player the table has never seen.
+     */
+    public synchronized Long getPlaytime(UUID uuid, long now) {
+        int id = dictionary.find(uuid);
+        return id == NOT_FOUND ? null : playtime(id, now);
+    }
+
+    public synchronized Integer getLevel(UUID uuid) {
+        int id = dictionary.find(uuid);
+        return id == NOT_FOUND ? null : levels[id];
+    }
+
+    /**
+     * Every named player with when they were last seen, for building the {@link NameIndex}.
+     */
+    public synchronized List<NameIndex.Entry> getNameEntries() {
+        List<NameIndex.Entry> entries = new ArrayList<>();
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (names[id] != null) {
+                entries.add(NameIndex.Entry.of(dictionary.uuid(id), names[id], lastSeen[id]));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Reads playtime, level and rank of every known player in {@code uuids} under one lock, unknown ones are skipped.
+     */
+    public synchronized List<Lookup> lookup(Collection<UUID> uuids, long now) {
+        List<Lookup> result = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            int id = dictionary.find(uuid);
+            if (id != NOT_FOUND) {
+                result.add(new Lookup(uuid, names[id], playtime(id, now), levels[id], rank(uuid, now)));
+            }
+        }
+        return result;
+    }
+
+    public synchronized long totalPlaytime(long now) {
+        return completedPlaytime + onlineCount * now - sessionStartSum;
+    }
+
+    public synchronized long getTotalSessions() {
+        return totalSessions;
+    }
+
+    /**
+     * Average length of completed sessions in milliseconds, 0 before the first session ends.
+     */
+    public synchronized long averageSessionLength() {
+        return totalSessions > 0 ? totalSessionTime / totalSessions : 0;
+    }
+
+    /**
+     * Returns up to {@code limit} players ordered by playtime including running sessions, highest first.
+     */
+    public synchronized List<Ranked> top(int limit, long now) {
+        ensureRanking();
+        int[] live = onlineByLivePlaytime(now);
+
+        List<Ranked> result = new ArrayList<>(Math.min(limit, dictionary.size()));
+        int stored = 0;
+        int running = 0;
+        while (result.size() < limit) {
+            while (stored < dictionary.size() && sessionStarts[ranking[stored]] != 0) {
+                stored++;
+            }
+            boolean hasStored = stored < dictionary.size();
+            boolean hasRunning = running < live.length;
+            if (!hasStored && !hasRunning) {
+                break;
+            }
+
+            if (hasRunning && (!hasStored || playtime(live[running], now) > playtimes[ranking[stored]])) {
+                int id = live[running++];
+                result.add(new Ranked(dictionary.uuid(id), names[id], playtime(id, now), true));
+            } else {
+                int id = ranking[stored++];
+                result.add(new Ranked(dictionary.uuid(id), names[id], playtimes[id], false));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 1-based position of the player on the playtime leaderboard, or 0 for a player the table has never seen.
+     * Only strictly higher playtime counts as ahead, so tied players share a rank whether they are online or not.
+     */
+    public synchronized int rank(UUID uuid, long now) {
+        int id = dictionary.find(uuid);
+        if (id == NOT_FOUND) {
+            return 0;
+        }
+        ensureRanking();
+
+        long playtime = playtime(id, now);
+        int ahead = countAbove(playtime);
+        for (int i = 0; i < onlineCount; i++) {
+            int other = online[i];
+            // Online players are ranked by live playtime, not by the stored value the ranking array holds
+            if (playtimes[other] > playtime) {
+                ahead--;
+            }
+            if (other != id && playtime(other, now) > playtime) {
+                ahead++;
+            }
+        }
+        return ahead + 1;
+    }
+
+    public synchronized List<StatsStorage.PlayerRecord> drainDirty() {
+        List<StatsStorage.PlayerRecord> records = new ArrayList<>(dirty.cardinality());
+        for (int id = dirty.nextSetBit(0); id >= 0; id = dirty.nextSetBit(id + 1)) {
+            records.add(new StatsStorage.PlayerRecord(dictionary.uuid(id), playtimes[id], levels[id], lastSeen[id],
+                    names[id], sessionCounts[id], sessionTimes[id]));
+        }
+        dirty.clear();
+        return records;
+    }
+
+    public synchronized void markDirty(UUID uuid) {
+        int id = dictionary.find(uuid);
+        if (id != NOT_FOUND) {
+            dirty.set(id);
+        }
+    }
+
+    public synchronized boolean hasDirty() {
+        return !dirty.isEmpty();
+    }
+
+    private long playtime(int id, long now) {
+        long sessionStart = sessionStarts[id];
+        return sessionStart != 0 ? playtimes[id] + (now - sessionStart) : playtimes[id];
+    }
+
+    private int intern(UUID uuid) {
+        int known = dictionary.size();
+        int id = dictionary.intern(uuid);
+        if (id < known) {
+            return id;
+        }
+
+        if (id == playtimes.length) {
+            int capacity = playtimes.length * 2;
+            playtimes = Arrays.copyOf(playtimes, capacity);
+            sessionStarts = Arrays.copyOf(sessionStarts, capacity);
+            lastSeen = Arrays.copyOf(lastSeen, capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            names = Arrays.copyOf(names, capacity);
+            sessionCounts = Arrays.copyOf(sessionCounts, capacity);
+            sessionTimes = Arrays.copyOf(sessionTimes, capacity);
+            ranking = Arrays.copyOf(ranking, capacity);
+            rankIndex = Arrays.copyOf(rankIndex, capacity);
+        }
+        // New players start with no playtime, which is the bottom of the ranking
+        ranking[id] = id;
+        rankIndex[id] = id;
+        return id;
+    }
+
+    private void removeOnline(int id) {
+        for (int i = 0; i < onlineCount; i++) {
+            if (online[i] == id) {
+                online[i] = online[--onlineCount];
+                return;
+            }
+        }
+    }
+
+    private int[] onlineByLivePlaytime(long now) {
+        long[] live = new long[onlineCount];
+        for (int i = 0; i < onlineCount; i++) {
+            live[i] = playtime(online[i], now);
+        }
+        int[] ids = Arrays.copyOf(online, onlineCount);
+        sortDescending(ids, live);
+        return ids;
+    }
+
+    private void promote(int id) {
+        if (rankingStale) {
+            return;
+        }
+
+        int from = rankIndex[id];
+        int to = firstBelow(playtimes[id], from);
+        if (to < from) {
+            System.arraycopy(ranking, to, ranking, to + 1, from - to);
+            ranking[to] = id;
+            for (int position = to; position <= from; position++) {
+                rankIndex[ranking[position]] = position;
+            }
+        }
+    }
+
+    private int firstBelow(long playtime, int end) {
+        int low = 0;
+        int high = end;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (playtimes[ranking[mid]] >= playtime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int countAbove(long playtime) {
+        int low = 0;
+        int high = dictionary.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (playtimes[ranking[mid]] > playtime) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureRanking() {
+        if (!rankingStale) {
+            return;
+        }
+
+        int size = dictionary.size();
+        for (int id = 0; id < size; id++) {
+            ranking[id] = id;
+        }
+        long[] keys = Arrays.copyOf(playtimes, size);
+        sortDescending(Arrays.copyOf(ranking, size), keys, ranking);
+        for (int position = 0; position < size; position++) {
+            rankIndex[ranking[position]] = position;
+        }
+        rankingStale = false;
+    }
+
+    private static void sortDescending(int[] ids, long[] keys) {
+        sortDescending(ids.clone(), keys, ids);
+    }
+
+    /**
+     * Stable merge sort of {@code source} ids by their key in the parallel {@code keys} array, written to
+     * {@code target}. Keys are indexed by position in {@code source}.
+     */
+    private static void sortDescending(int[] source, long[] keys, int[] target) {
+        int size = source.length;
+        int[] order = new int[size];
+        int[] buffer = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size - width; low += width * 2) {
+                int mid = low + width;
+                int high = Math.min(low + width * 2, size);
+                int left = low;
+                int right = mid;
+                int out = low;
+                while (left < mid && right < high) {
+                    buffer[out++] = keys[order[right]] > keys[order[left]] ? order[right++] : order[left++];
+                }
+                while (left < mid) {
+                    buffer[out++] = order[left++];
+                }
+                while (right < high) {
+                    buffer[out++] = order[right++];
+                }
+                System.arraycopy(buffer, low, order, low, high - low);
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            target[i] = source[order[i]];
+        }
+    }
+
+    public record Ranked(UUID uuid, String name, long playtime, boolean online) {
+    }
+
+    public record Lookup(UUID uuid, String name, long playtime, int level, int rank) {
+    }
+}
@@ -0,0 +1,8 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+public record RollupBucket(long start, int min, int max, long sum, int samples) {
+
+    public int average() {
+        return samples == 0 ? 0 : (int) Math.round(sum / (double) samples);
+    }
+}
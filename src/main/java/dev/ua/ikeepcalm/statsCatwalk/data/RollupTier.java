@@ -0,0 +1,175 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.function.Consumer;
+
+/**
+ * In-memory ring of min/max/sum buckets for one resolution. Hourly buckets have a fixed length; daily buckets
+ * follow the server's calendar days, so they line up with the hourly distribution and can be 23 or 25 hours
+ * long around DST changes.
+ */
+public class RollupTier {
+
+    private final OnlineHistoryResolution resolution;
+    private final long bucketMillis;
+    private final long retentionMillis;
+    private final ZoneId zone;
+    private final boolean calendarDays;
+
+    private final long[] starts;
+    private final int[] mins;
+    private final int[] maxs;
+    private final long[] sums;
+    private final int[] samples;
+
+    private int head;
+    private int size;
+
+    public RollupTier(OnlineHistoryResolution resolution, int retentionDays, ZoneId zone) {
+        this.resolution = resolution;
+        this.bucketMillis = resolution.getBucketMillis();
+        this.retentionMillis = retentionDays * 24 * 60 * 60 * 1000L;
+        this.zone = zone;
+        this.calendarDays = resolution == OnlineHistoryResolution.DAILY;
+
+        int capacity = (int) (retentionMillis / bucketMillis) + 2;
+        this.starts = new long[capacity];
+        this.mins = new int[capacity];
+        this.maxs = new int[capacity];
+        this.sums = new long[capacity];
+        this.samples = new int[capacity];
+    }
+
+    public OnlineHistoryResolution getResolution() {
+        return resolution;
+    }
+
+    public long getRetentionMillis() {
+        return retentionMillis;
+    }
+
+    public long bucketStart(long timestamp) {
+        if (calendarDays) {
+            return Instant.ofEpochMilli(timestamp).atZone(zone).toLocalDate()
+                    .atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        return Math.floorDiv(timestamp, bucketMillis) * bucketMillis;
+    }
+
+    /**
+     * Start of the bucket following the one starting at {@code start}.
+     */
+    public long bucketEnd(long start) {
+        if (calendarDays) {
+            return Instant.ofEpochMilli(start).atZone(zone).toLocalDate().plusDays(1)
+                    .atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        return start + bucketMillis;
+    }
+
+    /**
+     * Adds a raw sample and returns the bucket it closed, if the sample opened a new one.
+     */
+    public synchronized RollupBucket add(long timestamp, int count) {
+        long start = bucketStart(timestamp);
+        if (size > 0) {
+            int newest = index(size - 1);
+            if (starts[newest] == start) {
+                mins[newest] = Math.min(mins[newest], count);
+                maxs[newest] = Math.max(maxs[newest], count);
+                sums[newest] += count;
+                samples[newest]++;
+                return null;
+            }
+            if (start < starts[newest]) {
+                return null;
+            }
+        }
+
+        RollupBucket closed = size > 0 ? bucket(index(size - 1)) : null;
+        append(new RollupBucket(start, count, count, count, 1));
+        return closed;
+    }
+
+    public synchronized void restore(RollupBucket bucket) {
+        // Daily buckets saved before they followed the server zone start at UTC midnight
+        long start = bucketStart(bucket.start());
+        if (start != bucket.start()) {
+            bucket = new RollupBucket(start, bucket.min(), bucket.max(), bucket.sum(), bucket.samples());
+        }
+        if (size > 0) {
+            int newest = index(size - 1);
+            if (starts[newest] == bucket.start()) {
+                set(newest, bucket);
+                return;
+            }
+            if (bucket.start() < starts[newest]) {
+                return;
+            }
+        }
+        append(bucket);
+    }
+
+    public synchronized long newestStart() {
+        return size > 0 ? starts[index(size - 1)] : Long.MIN_VALUE;
+    }
+
+    public synchronized RollupBucket current() {
+        return size > 0 ? bucket(index(size - 1)) : null;
+    }
+
+    public int forEachSince(long since, Consumer<RollupBucket> consumer) {
+        return forEachSince(since, Integer.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Visits at most {@code limit} buckets overlapping {@code since} or later, oldest first.
+     */
+    public synchronized int forEachSince(long since, int limit, Consumer<RollupBucket> consumer) {
+        evictBefore(bucketStart(System.currentTimeMillis()) - retentionMillis);
+
+        int visited = 0;
+        for (int i = 0; i < size && visited < limit; i++) {
+            int slot = index(i);
+            if (bucketEnd(starts[slot]) > since) {
+                consumer.accept(bucket(slot));
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    private void append(RollupBucket bucket) {
+        evictBefore(bucket.start() - retentionMillis);
+        if (size == starts.length) {
+            head = (head + 1) % starts.length;
+            size--;
+        }
+        set(index(size), bucket);
+        size++;
+    }
+
+    private void set(int slot, RollupBucket bucket) {
+        starts[slot] = bucket.start();
+        mins[slot] = bucket.min();
+        maxs[slot] = bucket.max();
+        sums[slot] = bucket.sum();
+        samples[slot] = bucket.samples();
+    }
+
+    private RollupBucket bucket(int slot) {
+        return new RollupBucket(starts[slot], mins[slot], maxs[slot], sums[slot], samples[slot]);
+    }
+
+    private void evictBefore(long cutoff) {
+        while (size > 0 && starts[head] < cutoff) {
+            head = (head + 1) % starts.length;
+            size--;
+        }
+    }
+
+    private int index(int offset) {
+        return (head + offset) % starts.length;
+    }
+}
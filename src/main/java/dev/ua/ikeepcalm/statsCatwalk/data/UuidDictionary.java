@@ -0,0 +1,103 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Interns player UUIDs to dense int ids, 0 to {@code size() - 1}, in first-seen order.
+ * <p>
+ * UUID halves are kept in two {@code long[]} columns indexed by id and looked up through an open-addressing
+ * table of ids, so no UUID objects or map entries are retained. Not thread-safe; callers synchronize.
+ */
+public class UuidDictionary {
+
+    private static final int EMPTY = -1;
+
+    private long[] mostBits;
+    private long[] leastBits;
+    private int[] table;
+    private int size;
+
+    public UuidDictionary(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        this.mostBits = new long[capacity];
+        this.leastBits = new long[capacity];
+        this.table = newTable(tableSizeFor(capacity));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int find(UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int mask = table.length - 1;
+        for (int slot = hash(msb, lsb) & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot];
+            if (id == EMPTY) {
+                return EMPTY;
+            }
+            if (mostBits[id] == msb && leastBits[id] == lsb) {
+                return id;
+            }
+        }
+    }
+
+    public int intern(UUID uuid) {
+        int existing = find(uuid);
+        if (existing != EMPTY) {
+            return existing;
+        }
+
+        if (size == mostBits.length) {
+            mostBits = Arrays.copyOf(mostBits, size * 2);
+            leastBits = Arrays.copyOf(leastBits, size * 2);
+        }
+        int id = size++;
+        mostBits[id] = uuid.getMostSignificantBits();
+        leastBits[id] = uuid.getLeastSignificantBits();
+
+        if (size * 2 > table.length) {
+            rehash(table.length * 2);
+        } else {
+            insert(id);
+        }
+        return id;
+    }
+
+    public UUID uuid(int id) {
+        return new UUID(mostBits[id], leastBits[id]);
+    }
+
+    private void rehash(int tableSize) {
+        table = newTable(tableSize);
+        for (int id = 0; id < size; id++) {
+            insert(id);
+        }
+    }
+
+    private void insert(int id) {
+        int mask = table.length - 1;
+        int slot = hash(mostBits[id], leastBits[id]) & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = id;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long mixed = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity * 2 - 1) << 1;
+    }
+
+    private static int[] newTable(int tableSize) {
+        int[] table = new int[tableSize];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
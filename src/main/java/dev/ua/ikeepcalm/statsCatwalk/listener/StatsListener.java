@@ -1,26 +1,117 @@
 package dev.ua.ikeepcalm.statsCatwalk.listener;
 
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlinePlayerMirror;
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlinePlayerState;
 import dev.ua.ikeepcalm.statsCatwalk.manager.StatsManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityRegainHealthEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLevelChangeEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
 
 public class StatsListener implements Listener {
 
+    private final Plugin plugin;
     private final StatsManager statsManager;
+    private final OnlinePlayerMirror onlinePlayers;
+    private final Set<UUID> healthChanged = new HashSet<>();
 
-    public StatsListener(StatsManager statsManager) {
+    public StatsListener(Plugin plugin, StatsManager statsManager) {
+        this.plugin = plugin;
         this.statsManager = statsManager;
+        this.onlinePlayers = statsManager.getOnlinePlayers();
+    }
+
+    /**
+     * Fills the mirror with players that were already online when the plugin was enabled, after a reload or a
+     * late enable, and starts their sessions as if they had just joined.
+     */
+    public void seedOnlinePlayers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            onlinePlayers.put(stateOf(player));
+            statsManager.handlePlayerJoin(player.getUniqueId(), player.getName(), false);
+        }
     }
 
-    @EventHandler
+    @EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerJoin(PlayerJoinEvent event) {
-        statsManager.handlePlayerJoin(event.getPlayer().getUniqueId());
+        Player player = event.getPlayer();
+        onlinePlayers.put(stateOf(player));
+        statsManager.handlePlayerJoin(player.getUniqueId(), player.getName(), !player.hasPlayedBefore());
     }
 
-    @EventHandler
+    @EventHandler(priority = EventPriority.MONITOR)
     public void onPlayerQuit(PlayerQuitEvent event) {
-        statsManager.handlePlayerQuit(event.getPlayer().getUniqueId());
+        Player player = event.getPlayer();
+        onlinePlayers.remove(player.getUniqueId());
+        healthChanged.remove(player.getUniqueId());
+        statsManager.handlePlayerQuit(player.getUniqueId(), player.getLevel());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLevelChange(PlayerLevelChangeEvent event) {
+        int level = event.getNewLevel();
+        onlinePlayers.update(event.getPlayer().getUniqueId(), state -> state.withLevel(level));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        String world = event.getPlayer().getWorld().getName();
+        onlinePlayers.update(event.getPlayer().getUniqueId(), state -> state.withWorld(world));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityDamage(EntityDamageEvent event) {
+        refreshHealthNextTick(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityRegainHealth(EntityRegainHealthEvent event) {
+        refreshHealthNextTick(event.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        refreshHealthNextTick(event.getPlayer());
+    }
+
+    // Health is only applied after these events finish, so read it on the next tick, once per player
+    private void refreshHealthNextTick(Entity entity) {
+        if (!(entity instanceof Player player)) {
+            return;
+        }
+        boolean scheduled = !healthChanged.isEmpty();
+        if (healthChanged.add(player.getUniqueId()) && !scheduled) {
+            Bukkit.getScheduler().runTask(plugin, this::refreshHealth);
+        }
+    }
+
+    private void refreshHealth() {
+        for (UUID uuid : healthChanged) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                double health = player.getHealth();
+                onlinePlayers.update(uuid, state -> state.withHealth(health));
+            }
+        }
+        healthChanged.clear();
+    }
+
+    private static OnlinePlayerState stateOf(Player player) {
+        return new OnlinePlayerState(player.getUniqueId(), player.getName(), player.getLevel(),
+                player.getHealth(), player.getWorld().getName());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,11 @@
+package dev.ua.ikeepcalm.statsCatwalk.manager;
+
+/**
+ * Groups of stats data that change independently; listeners registered on {@link StatsManager} are told which
+ * one changed.
+ */
+public enum StatsDataset {
+    ONLINE_HISTORY,
+    HOURLY_DISTRIBUTION,
+    PLAYERS
+}
@@ -2,43 +2,93 @@ package dev.ua.ikeepcalm.statsCatwalk.manager;
 
 import dev.ua.ikeepcalm.statsCatwalk.StatsCatwalk;
 import dev.ua.ikeepcalm.statsCatwalk.api.response.OnlinePlayerData;
+import dev.ua.ikeepcalm.statsCatwalk.api.response.PlayerLookupData;
 import dev.ua.ikeepcalm.statsCatwalk.api.response.TopPlayerData;
 import dev.ua.ikeepcalm.statsCatwalk.config.StatsConfig;
+import dev.ua.ikeepcalm.statsCatwalk.data.DownsampleMode;
+import dev.ua.ikeepcalm.statsCatwalk.data.FirstJoinIndex;
+import dev.ua.ikeepcalm.statsCatwalk.data.HourlyDistribution;
+import dev.ua.ikeepcalm.statsCatwalk.data.NameIndex;
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlineHistoryBuffer;
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlineHistoryResolution;
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlinePlayerMirror;
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlinePlayerState;
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlineSeries;
+import dev.ua.ikeepcalm.statsCatwalk.data.PlayerTable;
+import dev.ua.ikeepcalm.statsCatwalk.data.RollupBucket;
+import dev.ua.ikeepcalm.statsCatwalk.data.RollupTier;
+import dev.ua.ikeepcalm.statsCatwalk.storage.FileStatsStorage;
+import dev.ua.ikeepcalm.statsCatwalk.storage.PersistenceQueue;
+import dev.ua.ikeepcalm.statsCatwalk.storage.SqliteStatsStorage;
+import dev.ua.ikeepcalm.statsCatwalk.storage.StatsStorage;
 import dev.ua.ikeepcalm.statsCatwalk.utils.TpsTracker;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
-import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class StatsManager {
     private final StatsCatwalk plugin;
     private final Logger logger;
     private final Path dataFolder;
     private final ZoneId serverTimeZone;
-    private final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-    private final StatsConfig config;
-    private final TpsTracker tpsTracker;
+    private static final String[] MINUTE_LABELS = new String[HourlyDistribution.MINUTES_PER_DAY];
 
-    private final Map<Long, Integer> onlinePlayerHistory = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, Integer>> hourlyDistribution = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> playerPlaytimes = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> playerSessions = new ConcurrentHashMap<>();
-    private final Map<UUID, Integer> playerLevels = new ConcurrentHashMap<>();
+    static {
+        for (int minute = 0; minute < MINUTE_LABELS.length; minute++) {
+            MINUTE_LABELS[minute] = String.format("%02d:%02d", minute / 60, minute % 60);
+        }
+    }
 
+    private final StatsConfig config;
+    private final TpsTracker tpsTracker;
+    private final StatsStorage storage;
+    private final PersistenceQueue persistenceQueue;
+
+    private final OnlineHistoryBuffer onlinePlayerHistory;
+    private final List<RollupTier> rollupTiers;
+    private final Map<OnlineHistoryResolution, Queue<RollupBucket>> pendingRollups = new EnumMap<>(OnlineHistoryResolution.class);
+    private final HourlyDistribution hourlyDistribution;
+    private final PlayerTable players = new PlayerTable(1024);
+    private final FirstJoinIndex firstJoins = new FirstJoinIndex();
+    private final OnlinePlayerMirror onlinePlayers = new OnlinePlayerMirror();
+    private final NameIndex nameIndex = new NameIndex();
+    private final Queue<StatsStorage.OnlineSample> pendingSamples = new ConcurrentLinkedQueue<>();
+    private final Queue<StatsStorage.HourlySample> pendingHourlySamples = new ConcurrentLinkedQueue<>();
+    private final List<Runnable> pendingEvents = new ArrayList<>();
+    private final List<Consumer<StatsDataset>> changeListeners = new CopyOnWriteArrayList<>();
+    private final Set<StatsDataset> pendingChanges = EnumSet.noneOf(StatsDataset.class);
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+    private final Object snapshotLock = new Object();
+    private final long dataEpoch = System.currentTimeMillis();
+    private final AtomicLongArray dataVersions = new AtomicLongArray(StatsDataset.values().length);
+    private final AtomicLongArray dataModifiedAt = new AtomicLongArray(StatsDataset.values().length);
+    private final CompletableFuture<Void> warmUp;
+
+    private volatile boolean storageOpen;
+    private volatile boolean live;
+    private volatile boolean ready;
+    private volatile boolean stopping;
+    private volatile StatsSnapshot snapshot = StatsSnapshot.EMPTY;
     private BukkitTask collectionTask;
 
     public StatsManager(StatsCatwalk plugin, StatsConfig config) {
@@ -48,15 +98,132 @@ public class StatsManager {
         this.dataFolder = new File(plugin.getDataFolder(), "stats").toPath();
         this.serverTimeZone = ZoneId.systemDefault();
         this.tpsTracker = new TpsTracker(plugin);
+        this.storage = createStorage();
+        this.onlinePlayerHistory = OnlineHistoryBuffer.forRetention(config.getCollectionIntervalMinutes(), config.getDataRetentionDays());
+        this.hourlyDistribution = new HourlyDistribution(config.getDataRetentionDays());
+        this.rollupTiers = List.of(
+                new RollupTier(OnlineHistoryResolution.HOURLY, config.getHourlyRollupRetentionDays(), serverTimeZone),
+                new RollupTier(OnlineHistoryResolution.DAILY, config.getDailyRollupRetentionDays(), serverTimeZone));
+        for (RollupTier tier : rollupTiers) {
+            pendingRollups.put(tier.getResolution(), new ConcurrentLinkedQueue<>());
+        }
+        this.persistenceQueue = new PersistenceQueue(logger, config.getFlushWindowMillis());
+        for (StatsDataset dataset : StatsDataset.values()) {
+            dataModifiedAt.set(dataset.ordinal(), dataEpoch);
+        }
 
-        try {
-            Files.createDirectories(dataFolder);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "Failed to create stats directory", e);
+        persistenceQueue.register(PersistenceQueue.Target.ONLINE_HISTORY, this::flushOnlinePlayerHistory);
+        persistenceQueue.register(PersistenceQueue.Target.ROLLUPS, this::flushRollups);
+        persistenceQueue.register(PersistenceQueue.Target.HOURLY_DISTRIBUTION, this::flushHourlyDistribution);
+        persistenceQueue.register(PersistenceQueue.Target.PLAYER_TABLE, this::flushPlayerTable);
+
+        this.warmUp = loadData();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public CompletableFuture<Void> getWarmUp() {
+        return warmUp;
+    }
+
+    public OnlinePlayerMirror getOnlinePlayers() {
+        return onlinePlayers;
+    }
+
+    public void addChangeListener(Consumer<StatsDataset> listener) {
+        changeListeners.add(listener);
+    }
+
+    public StatsSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Start time of this data set; versions restart from zero with every server start.
+     */
+    public long getDataEpoch() {
+        return dataEpoch;
+    }
+
+    public long getDataVersion(StatsDataset dataset) {
+        return dataVersions.get(dataset.ordinal());
+    }
+
+    public long getLastModified(StatsDataset dataset) {
+        return dataModifiedAt.get(dataset.ordinal());
+    }
+
+    private void markChanged(StatsDataset dataset) {
+        synchronized (pendingChanges) {
+            pendingChanges.add(dataset);
         }
+    }
 
-        loadData();
-        startCollectionTask();
+    /**
+     * Builds and publishes a new snapshot, then notifies change listeners about everything marked since the
+     * previous one. Listeners run after the swap so a cache refilled from them never sees the old snapshot, and
+     * data versions move last so a reader that sees a new version can no longer get a cached response built
+     * from the old data.
+     */
+    private void publishSnapshot() {
+        synchronized (snapshotLock) {
+            snapshot = buildSnapshot();
+
+            List<StatsDataset> changed;
+            synchronized (pendingChanges) {
+                changed = new ArrayList<>(pendingChanges);
+                pendingChanges.clear();
+            }
+            for (StatsDataset dataset : changed) {
+                for (Consumer<StatsDataset> listener : changeListeners) {
+                    listener.accept(dataset);
+                }
+            }
+
+            long now = System.currentTimeMillis();
+            for (StatsDataset dataset : changed) {
+                dataModifiedAt.set(dataset.ordinal(), now);
+                dataVersions.incrementAndGet(dataset.ordinal());
+            }
+        }
+    }
+
+    private void requestSnapshot() {
+        if (!live || stopping || !snapshotScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            snapshotScheduled.set(false);
+            publishSnapshot();
+        });
+    }
+
+    private StatsSnapshot buildSnapshot() {
+        long now = System.currentTimeMillis();
+        int onlineCount = onlinePlayers.size();
+
+        return new StatsSnapshot(
+                now,
+                firstJoins.size(),
+                onlineCount,
+                players.totalPlaytime(now),
+                players.getTotalSessions(),
+                players.averageSessionLength(),
+                buildHourlyDistribution(now, onlineCount),
+                buildTopPlayers(config.getMaxTopPlayersLimit(), now));
+    }
+
+    private StatsStorage createStorage() {
+        String backend = config.getStorageBackend();
+        if ("sqlite".equalsIgnoreCase(backend)) {
+            return new SqliteStatsStorage(dataFolder.resolve("stats.db"), logger);
+        }
+        if (!"file".equalsIgnoreCase(backend)) {
+            logger.warning("Unknown storage backend '" + backend + "', falling back to file storage");
+        }
+        return new FileStatsStorage(dataFolder, logger);
     }
 
     public void startCollectionTask() {
@@ -74,245 +241,386 @@ public class StatsManager {
             collectionTask = null;
         }
         tpsTracker.stop();
+        stopping = true;
+
+        if (!ready) {
+            awaitWarmUp();
+        }
         saveData();
     }
 
-    public void handlePlayerJoin(UUID playerUuid) {
-        playerSessions.put(playerUuid, System.currentTimeMillis());
+    public void handlePlayerJoin(UUID playerUuid, String playerName, boolean firstJoin) {
+        long now = System.currentTimeMillis();
+        dispatch(() -> {
+            players.startSession(playerUuid, now);
+            players.setName(playerUuid, playerName);
+            nameIndex.put(playerUuid, playerName, now);
+            if (firstJoin) {
+                firstJoins.add(now);
+            }
+            markChanged(StatsDataset.PLAYERS);
+            requestSnapshot();
+        });
     }
 
-    public void handlePlayerQuit(UUID playerUuid) {
-        long sessionStart = playerSessions.getOrDefault(playerUuid, System.currentTimeMillis());
-        long sessionDuration = System.currentTimeMillis() - sessionStart;
-
-        playerPlaytimes.put(playerUuid, playerPlaytimes.getOrDefault(playerUuid, 0L) + sessionDuration);
-        playerSessions.remove(playerUuid);
+    public void handlePlayerQuit(UUID playerUuid, int level) {
+        long now = System.currentTimeMillis();
+        dispatch(() -> applyPlayerQuit(playerUuid, now, level));
+    }
 
-        Player player = Bukkit.getPlayer(playerUuid);
-        if (player != null) {
-            playerLevels.put(playerUuid, player.getLevel());
+    private void dispatch(Runnable event) {
+        synchronized (pendingEvents) {
+            if (!live) {
+                pendingEvents.add(event);
+                return;
+            }
         }
+        event.run();
+    }
+
+    private void applyPlayerQuit(UUID playerUuid, long now, Integer level) {
+        players.endSession(playerUuid, now, level);
+        markChanged(StatsDataset.PLAYERS);
+        requestSnapshot();
 
         if (config.isSaveOnPlayerQuit()) {
-            savePlayerPlaytimes();
-            savePlayerLevels();
+            persistenceQueue.markDirty(PersistenceQueue.Target.PLAYER_TABLE);
         }
     }
 
     private void collectAndSaveData() {
         long timestamp = System.currentTimeMillis();
-        int onlineCount = Bukkit.getOnlinePlayers().size();
+        int onlineCount = onlinePlayers.size();
+
+        onlinePlayerHistory.add(timestamp, onlineCount);
+        pendingSamples.add(new StatsStorage.OnlineSample(timestamp, onlineCount));
+        persistenceQueue.markDirty(PersistenceQueue.Target.ONLINE_HISTORY);
+        addToRollups(timestamp, onlineCount);
+        markChanged(StatsDataset.ONLINE_HISTORY);
+
+        long localMillis = HourlyDistribution.toLocalMillis(timestamp, serverTimeZone);
+        long epochDay = HourlyDistribution.epochDay(localMillis);
+        int minuteOfDay = HourlyDistribution.minuteOfDay(localMillis);
+
+        if (minuteOfDay % 60 != 0) {
+            hourlyDistribution.put(epochDay, minuteOfDay, onlineCount);
+            pendingHourlySamples.add(new StatsStorage.HourlySample(epochDay, minuteOfDay, onlineCount));
+            persistenceQueue.markDirty(PersistenceQueue.Target.HOURLY_DISTRIBUTION);
+            markChanged(StatsDataset.HOURLY_DISTRIBUTION);
+        }
 
-        onlinePlayerHistory.put(timestamp, onlineCount);
+        // Playtime and the top list move with the clock, so every collection refreshes them too
+        markChanged(StatsDataset.PLAYERS);
+        publishSnapshot();
+    }
 
-        LocalDateTime now = LocalDateTime.now(serverTimeZone);
-        String hour = now.format(timeFormatter);
-        String date = now.format(dateFormatter);
+    private CompletableFuture<Void> loadData() {
+        long started = System.currentTimeMillis();
+        // Enumerated here on the main thread, before any join is reported, so joins added later are never
+        // part of the seed; only reading the first join times is left to the loaders
+        OfflinePlayer[] offlinePlayers = Bukkit.getOfflinePlayers();
+        ExecutorService loaders = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "StatsCatwalk-Loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        return CompletableFuture.runAsync(this::openStorage, loaders)
+                .thenCompose(ignored -> {
+                    if (!storageOpen) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    return CompletableFuture.allOf(
+                            CompletableFuture.runAsync(this::loadOnlinePlayerHistory, loaders),
+                            CompletableFuture.runAsync(this::loadHourlyDistribution, loaders),
+                            CompletableFuture.runAsync(this::loadPlayers, loaders),
+                            CompletableFuture.runAsync(() -> seedFirstJoinIndex(offlinePlayers), loaders));
+                })
+                .handle((ignored, error) -> {
+                    loaders.shutdown();
+                    if (error != null) {
+                        logger.log(Level.SEVERE, "Failed to load stats data", error);
+                    }
+                    finishWarmUp(started);
+                    return null;
+                });
+    }
 
-        if (now.getMinute() == 0) {
-            return;
+    private void openStorage() {
+        try {
+            storage.open();
+            storageOpen = true;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to open stats storage", e);
         }
+    }
 
-        hourlyDistribution.computeIfAbsent(hour, k -> new HashMap<>()).put(date, onlineCount);
-
-        saveOnlinePlayerHistory();
-        saveHourlyDistribution();
+    private void finishWarmUp(long started) {
+        int buffered;
+        synchronized (pendingEvents) {
+            buffered = pendingEvents.size();
+            for (Runnable event : pendingEvents) {
+                event.run();
+            }
+            pendingEvents.clear();
+            live = true;
+        }
+        // Built outside the lock so joins and quits on the main thread never wait for it; events that
+        // arrive meanwhile apply directly and request their own rebuild
+        publishSnapshot();
+        ready = true;
+
+        if (!stopping) {
+            persistenceQueue.start();
+            startCollectionTask();
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, this::backfillPlayerNames);
+        }
+        logger.info("Stats data ready in " + (System.currentTimeMillis() - started) + " ms"
+                + (buffered > 0 ? ", applied " + buffered + " buffered player events" : ""));
     }
 
-    private void loadData() {
-        loadOnlinePlayerHistory();
-        loadHourlyDistribution();
-        loadPlayerPlaytimes();
-        loadPlayerLevels();
+    private void awaitWarmUp() {
+        try {
+            warmUp.get(config.getShutdownFlushTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            logger.warning("Stats data was still loading on shutdown");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.log(Level.SEVERE, "Failed to load stats data", e.getCause());
+        }
     }
 
     private void saveData() {
-        saveOnlinePlayerHistory();
-        saveHourlyDistribution();
-        savePlayerPlaytimes();
-        savePlayerLevels();
+        if (ready) {
+            // Keep the partial buckets so a restart continues them instead of starting over
+            for (RollupTier tier : rollupTiers) {
+                RollupBucket current = tier.current();
+                if (current != null) {
+                    pendingRollups.get(tier.getResolution()).add(current);
+                }
+            }
+        }
+
+        long timeoutMillis = config.getShutdownFlushTimeoutSeconds() * 1000L;
+        if (!persistenceQueue.shutdown(timeoutMillis)) {
+            logger.warning("Pending stats writes did not finish within " + config.getShutdownFlushTimeoutSeconds() + " seconds");
+        }
+
+        try {
+            storage.close();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to close stats storage", e);
+        }
     }
 
     private void loadOnlinePlayerHistory() {
-        Path historyFile = dataFolder.resolve("online_history.csv");
+        try {
+            int loaded = storage.loadOnlineHistory(retentionCutoff(), Long.MAX_VALUE, onlinePlayerHistory::add);
+            logger.info("Loaded " + loaded + " online history records");
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to load online player history", e);
+        }
+        loadRollups();
+    }
 
-        if (Files.exists(historyFile)) {
+    private void loadRollups() {
+        long now = System.currentTimeMillis();
+        for (RollupTier tier : rollupTiers) {
+            OnlineHistoryResolution resolution = tier.getResolution();
             try {
-                List<String> lines = Files.readAllLines(historyFile);
-                for (String line : lines) {
-                    String[] parts = line.split(",");
-                    if (parts.length == 2) {
-                        try {
-                            long timestamp = Long.parseLong(parts[0]);
-                            int count = Integer.parseInt(parts[1]);
-                            onlinePlayerHistory.put(timestamp, count);
-                        } catch (NumberFormatException e) {
-                            logger.warning("Invalid data format in online history: " + line);
-                        }
-                    }
-                }
-                logger.info("Loaded " + onlinePlayerHistory.size() + " online history records");
+                int loaded = storage.loadRollups(resolution, tier.bucketStart(now) - tier.getRetentionMillis(), tier::restore);
+                logger.info("Loaded " + loaded + " " + resolution.getKey() + " rollup buckets");
             } catch (IOException e) {
-                logger.log(Level.SEVERE, "Failed to load online player history", e);
+                logger.log(Level.SEVERE, "Failed to load " + resolution.getKey() + " rollups", e);
             }
+
+            // Rebuild buckets the raw history has but the rollups missed, e.g. on the first run or after a crash
+            long newestStart = tier.newestStart();
+            long since = newestStart == Long.MIN_VALUE ? Long.MIN_VALUE : tier.bucketEnd(newestStart);
+            onlinePlayerHistory.forEachSince(since, (timestamp, count) -> {
+                RollupBucket closed = tier.add(timestamp, count);
+                if (closed != null) {
+                    pendingRollups.get(resolution).add(closed);
+                }
+            });
         }
+        persistenceQueue.markDirty(PersistenceQueue.Target.ROLLUPS);
     }
 
-    private void saveOnlinePlayerHistory() {
-        Path historyFile = dataFolder.resolve("online_history.csv");
-
-        try {
-            long cutoffTime = System.currentTimeMillis() - (config.getDataRetentionDays() * 24 * 60 * 60 * 1000L);
-            List<String> lines = onlinePlayerHistory.entrySet().stream()
-                    .filter(entry -> entry.getKey() >= cutoffTime)
-                    .map(entry -> entry.getKey() + "," + entry.getValue())
-                    .collect(Collectors.toList());
-
-            Files.write(historyFile, lines);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "Failed to save online player history", e);
+    private void addToRollups(long timestamp, int count) {
+        boolean closedAny = false;
+        for (RollupTier tier : rollupTiers) {
+            RollupBucket closed = tier.add(timestamp, count);
+            if (closed != null) {
+                pendingRollups.get(tier.getResolution()).add(closed);
+                closedAny = true;
+            }
+        }
+        if (closedAny) {
+            persistenceQueue.markDirty(PersistenceQueue.Target.ROLLUPS);
         }
     }
 
-    private void loadHourlyDistribution() {
-        Path distributionFile = dataFolder.resolve("hourly_distribution.csv");
+    private void flushRollups() {
+        if (!storageOpen) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        for (RollupTier tier : rollupTiers) {
+            OnlineHistoryResolution resolution = tier.getResolution();
+            Queue<RollupBucket> pending = pendingRollups.get(resolution);
+            List<RollupBucket> buckets = new ArrayList<>();
+            RollupBucket bucket;
+            while ((bucket = pending.poll()) != null) {
+                buckets.add(bucket);
+            }
 
-        if (Files.exists(distributionFile)) {
             try {
-                List<String> lines = Files.readAllLines(distributionFile);
-                for (String line : lines) {
-                    String[] parts = line.split(",");
-                    if (parts.length == 3) {
-                        String hour = parts[0];
-                        String date = parts[1];
-                        try {
-                            int count = Integer.parseInt(parts[2]);
-                            hourlyDistribution.computeIfAbsent(hour, k -> new HashMap<>()).put(date, count);
-                        } catch (NumberFormatException e) {
-                            logger.warning("Invalid data format in hourly distribution: " + line);
-                        }
-                    }
-                }
-                logger.info("Loaded hourly distribution data");
+                storage.saveRollups(resolution, buckets);
+                storage.compactRollups(resolution, tier.bucketStart(now) - tier.getRetentionMillis());
             } catch (IOException e) {
-                logger.log(Level.SEVERE, "Failed to load hourly distribution", e);
+                logger.log(Level.SEVERE, "Failed to save " + resolution.getKey() + " rollups", e);
             }
         }
     }
 
-    private void saveHourlyDistribution() {
-        Path distributionFile = dataFolder.resolve("hourly_distribution.csv");
+    private void flushOnlinePlayerHistory() {
+        if (!storageOpen) {
+            return;
+        }
+
+        List<StatsStorage.OnlineSample> samples = new ArrayList<>();
+        StatsStorage.OnlineSample sample;
+        while ((sample = pendingSamples.poll()) != null) {
+            samples.add(sample);
+        }
 
         try {
-            List<String> lines = new ArrayList<>();
-            for (Map.Entry<String, Map<String, Integer>> hourEntry : hourlyDistribution.entrySet()) {
-                String hour = hourEntry.getKey();
-                for (Map.Entry<String, Integer> dateEntry : hourEntry.getValue().entrySet()) {
-                    String date = dateEntry.getKey();
-                    int count = dateEntry.getValue();
-                    lines.add(hour + "," + date + "," + count);
-                }
+            storage.appendOnlineHistory(samples);
+
+            int removed = storage.compactOnlineHistory(retentionCutoff());
+            if (removed > 0) {
+                logger.info("Compacted " + removed + " expired online history entries");
             }
-            Files.write(distributionFile, lines);
         } catch (IOException e) {
-            logger.log(Level.SEVERE, "Failed to save hourly distribution", e);
+            logger.log(Level.SEVERE, "Failed to append online player history", e);
         }
     }
 
-    private void loadPlayerPlaytimes() {
-        Path playtimesFile = dataFolder.resolve("player_playtimes.csv");
+    private long retentionCutoff() {
+        return System.currentTimeMillis() - (config.getDataRetentionDays() * 24 * 60 * 60 * 1000L);
+    }
 
-        if (Files.exists(playtimesFile)) {
-            try {
-                List<String> lines = Files.readAllLines(playtimesFile);
-                for (String line : lines) {
-                    String[] parts = line.split(",");
-                    if (parts.length == 2) {
-                        try {
-                            UUID uuid = UUID.fromString(parts[0]);
-                            long playtime = Long.parseLong(parts[1]);
-                            playerPlaytimes.put(uuid, playtime);
-                        } catch (IllegalArgumentException e) {
-                            logger.warning("Invalid data format in player playtimes: " + line);
-                        }
-                    }
-                }
-                logger.info("Loaded " + playerPlaytimes.size() + " player playtime records");
-            } catch (IOException e) {
-                logger.log(Level.SEVERE, "Failed to load player playtimes", e);
-            }
+    private void loadHourlyDistribution() {
+        try {
+            int loaded = storage.loadHourlyDistribution(hourlyRetentionCutoffDay(), hourlyDistribution::put);
+            logger.info("Loaded " + loaded + " hourly distribution entries");
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to load hourly distribution", e);
         }
     }
 
-    private void savePlayerPlaytimes() {
-        Path playtimesFile = dataFolder.resolve("player_playtimes.csv");
+    private void flushHourlyDistribution() {
+        if (!storageOpen) {
+            return;
+        }
+
+        List<StatsStorage.HourlySample> samples = new ArrayList<>();
+        StatsStorage.HourlySample sample;
+        while ((sample = pendingHourlySamples.poll()) != null) {
+            samples.add(sample);
+        }
 
         try {
-            List<String> lines = playerPlaytimes.entrySet().stream()
-                    .map(entry -> entry.getKey() + "," + entry.getValue())
-                    .collect(Collectors.toList());
+            storage.appendHourlyDistribution(samples);
+            storage.compactHourlyDistribution(hourlyRetentionCutoffDay());
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to save hourly distribution", e);
+        }
+    }
 
-            Files.write(playtimesFile, lines);
+    private long hourlyRetentionCutoffDay() {
+        long today = HourlyDistribution.epochDay(HourlyDistribution.toLocalMillis(System.currentTimeMillis(), serverTimeZone));
+        return today - config.getDataRetentionDays();
+    }
+
+    private void loadPlayers() {
+        try {
+            int loaded = storage.loadPlayers(players::load);
+            nameIndex.putAll(players.getNameEntries());
+            logger.info("Loaded " + loaded + " player records, " + nameIndex.size() + " names indexed");
         } catch (IOException e) {
-            logger.log(Level.SEVERE, "Failed to save player playtimes", e);
+            logger.log(Level.SEVERE, "Failed to load player records", e);
         }
     }
 
-    private void loadPlayerLevels() {
-        Path levelsFile = dataFolder.resolve("player_levels.csv");
+    /**
+     * getFirstPlayed only reads the player's stored data, which makes it safe off the main thread and keeps the
+     * per-player disk reads out of the tick.
+     */
+    private void seedFirstJoinIndex(OfflinePlayer[] offlinePlayers) {
+        long[] firstPlayed = new long[offlinePlayers.length];
+        for (int i = 0; i < offlinePlayers.length; i++) {
+            firstPlayed[i] = offlinePlayers[i].getFirstPlayed();
+        }
+        firstJoins.seed(firstPlayed);
+        logger.info("Indexed first joins of " + firstPlayed.length + " players");
+    }
 
-        if (Files.exists(levelsFile)) {
-            try {
-                List<String> lines = Files.readAllLines(levelsFile);
-                for (String line : lines) {
-                    String[] parts = line.split(",");
-                    if (parts.length == 2) {
-                        try {
-                            UUID uuid = UUID.fromString(parts[0]);
-                            int level = Integer.parseInt(parts[1]);
-                            playerLevels.put(uuid, level);
-                        } catch (IllegalArgumentException e) {
-                            logger.warning("Invalid data format in player levels: " + line);
-                        }
-                    }
-                }
-                logger.info("Loaded " + playerLevels.size() + " player level records");
-            } catch (IOException e) {
-                logger.log(Level.SEVERE, "Failed to load player levels", e);
+    private void backfillPlayerNames() {
+        List<UUID> unnamed = players.getUnnamed();
+        if (unnamed.isEmpty()) {
+            return;
+        }
+
+        // One-time lookup for records saved before names were cached, later reads never leave memory
+        List<NameIndex.Entry> resolved = new ArrayList<>();
+        for (UUID uuid : unnamed) {
+            OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(uuid);
+            String name = offlinePlayer.getName();
+            if (name != null) {
+                players.setName(uuid, name);
+                resolved.add(NameIndex.Entry.of(uuid, name, offlinePlayer.getLastSeen()));
             }
         }
+        if (!resolved.isEmpty()) {
+            nameIndex.putAll(resolved);
+            persistenceQueue.markDirty(PersistenceQueue.Target.PLAYER_TABLE);
+        }
+        logger.info("Resolved names for " + resolved.size() + " of " + unnamed.size() + " players without a cached name");
     }
 
-    private void savePlayerLevels() {
-        Path levelsFile = dataFolder.resolve("player_levels.csv");
+    private void flushPlayerTable() {
+        if (!storageOpen || !players.hasDirty()) {
+            return;
+        }
 
+        List<StatsStorage.PlayerRecord> records = players.drainDirty();
         try {
-            List<String> lines = playerLevels.entrySet().stream()
-                    .map(entry -> entry.getKey() + "," + entry.getValue())
-                    .collect(Collectors.toList());
-
-            Files.write(levelsFile, lines);
+            storage.savePlayers(records);
         } catch (IOException e) {
-            logger.log(Level.SEVERE, "Failed to save player levels", e);
+            records.forEach(record -> players.markDirty(record.uuid()));
+            logger.log(Level.SEVERE, "Failed to save player records", e);
         }
     }
 
-    public Map<String, Object> getStatsSummary() {
+    public Map<String, Object> getStatsSummary(int newPlayersHours) {
+        StatsSnapshot current = snapshot;
         Map<String, Object> summary = new HashMap<>();
 
-        int totalPlayers = Bukkit.getOfflinePlayers().length;
-        summary.put("totalPlayers", totalPlayers);
-
-        int onlinePlayers = Bukkit.getOnlinePlayers().size();
-        summary.put("onlinePlayers", onlinePlayers);
+        summary.put("totalPlayers", current.totalPlayers());
+        summary.put("onlinePlayers", current.onlinePlayers());
 
-        long oneDayAgo = System.currentTimeMillis() - (24 * 60 * 60 * 1000);
-        int newPlayers = countNewPlayers(oneDayAgo);
+        long windowStart = System.currentTimeMillis() - (newPlayersHours * 60 * 60 * 1000L);
+        int newPlayers = firstJoins.countSince(windowStart);
         summary.put("newPlayers", newPlayers);
+        summary.put("newPlayersHours", newPlayersHours);
 
-        long totalPlaytime = calculateTotalPlaytime();
-        long avgPlaytime = totalPlayers > 0 ? totalPlaytime / totalPlayers : 0;
-        summary.put("avgPlaytime", avgPlaytime);
+        summary.put("avgPlaytime", current.averagePlaytime());
+        summary.put("totalSessions", current.totalSessions());
+        summary.put("avgSessionLength", current.averageSessionLength());
 
         if (config.isEnableTpsTracking()) {
             summary.put("tps", tpsTracker.getTPSString());
@@ -321,168 +629,221 @@ public class StatsManager {
         return summary;
     }
 
-    public List<OnlinePlayerData> getOnlinePlayersData(int days) {
-        List<OnlinePlayerData> data = new ArrayList<>();
-        long cutoffTime = System.currentTimeMillis() - (days * 24 * 60 * 60 * 1000L);
+    public int getMaxHistoryDays() {
+        return Math.max(config.getDataRetentionDays(),
+                Math.max(config.getHourlyRollupRetentionDays(), config.getDailyRollupRetentionDays()));
+    }
+
+    public OnlineHistoryResolution getOnlineHistoryResolution(int days) {
+        if (days <= config.getDataRetentionDays()) {
+            return OnlineHistoryResolution.RAW;
+        }
+        if (days <= config.getHourlyRollupRetentionDays()) {
+            return OnlineHistoryResolution.HOURLY;
+        }
+        return OnlineHistoryResolution.DAILY;
+    }
 
-        for (Map.Entry<Long, Integer> entry : onlinePlayerHistory.entrySet()) {
-            long timestamp = entry.getKey();
-            int playerCount = entry.getValue();
+    /**
+     * Returns at most {@code limit} points of the last {@code days} days, starting at {@code from}.
+     */
+    public OnlineSeries getOnlineSeries(int days, long from, int limit) {
+        long cutoffTime = Math.max(from, System.currentTimeMillis() - (days * 24 * 60 * 60 * 1000L));
+        OnlineSeries series = new OnlineSeries(Math.min(limit, 1024));
+
+        OnlineHistoryResolution resolution = getOnlineHistoryResolution(days);
+        if (resolution != OnlineHistoryResolution.RAW) {
+            RollupTier tier = rollupTiers.stream().filter(t -> t.getResolution() == resolution).findFirst().orElseThrow();
+            tier.forEachSince(cutoffTime, limit, series::add);
+        } else {
+            onlinePlayerHistory.forEachSince(cutoffTime, limit, series::add);
+        }
+        return series;
+    }
 
-            if (timestamp >= cutoffTime) {
-                LocalDateTime dateTime = LocalDateTime.ofInstant(
-                        java.time.Instant.ofEpochMilli(timestamp), serverTimeZone);
+    /**
+     * Returns the last {@code days} days reduced to about {@code points} points, so the payload follows the chart
+     * width rather than the length of the history.
+     */
+    public OnlineSeries getOnlineSeries(int days, int points, DownsampleMode mode) {
+        OnlineSeries series = getOnlineSeries(days, Long.MIN_VALUE, Integer.MAX_VALUE);
+        return mode == DownsampleMode.MINMAX ? series.minMax(points) : series.lttb(points);
+    }
 
-                OnlinePlayerData point = OnlinePlayerData.builder()
-                        .timestamp(timestamp)
-                        .online(playerCount)
-                        .hour(dateTime.getHour())
-                        .day(dateTime.getDayOfWeek().toString())
-                        .build();
+    public ZoneId getServerTimeZone() {
+        return serverTimeZone;
+    }
 
-                data.add(point);
+    public List<OnlinePlayerData> toOnlinePlayerData(OnlineSeries series) {
+        List<OnlinePlayerData> data = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            LocalDateTime dateTime = LocalDateTime.ofInstant(
+                    java.time.Instant.ofEpochMilli(series.timestamp(i)), serverTimeZone);
+
+            OnlinePlayerData.OnlinePlayerDataBuilder point = OnlinePlayerData.builder()
+                    .timestamp(series.timestamp(i))
+                    .online(series.average(i))
+                    .hour(dateTime.getHour())
+                    .day(dateTime.getDayOfWeek().toString());
+            if (series.isAggregated()) {
+                point.min(series.min(i))
+                     .max(series.max(i));
             }
-        }
 
-        data.sort(Comparator.comparing(OnlinePlayerData::getTimestamp));
+            data.add(point.build());
+        }
         return data;
     }
 
     public Map<String, Integer> getCurrentHourlyDistribution() {
-        Map<String, Integer> result = new TreeMap<>();
-
-        for (int i = 0; i < 24; i++) {
-            LocalDateTime time = LocalDateTime.now().withHour(i).withMinute(0);
-            String hourStr = time.format(timeFormatter);
-            result.put(hourStr, 0);
-        }
-
-        String today = LocalDateTime.now().format(dateFormatter);
+        return snapshot.hourlyDistribution();
+    }
 
-        for (Map.Entry<String, Map<String, Integer>> entry : hourlyDistribution.entrySet()) {
-            String hour = entry.getKey();
-            Map<String, Integer> dateCounts = entry.getValue();
+    private SortedMap<String, Integer> buildHourlyDistribution(long now, int onlinePlayers) {
+        SortedMap<String, Integer> result = new TreeMap<>();
 
-            if (dateCounts.containsKey(today)) {
-                result.put(hour, dateCounts.get(today));
-            }
+        for (int hour = 0; hour < 24; hour++) {
+            result.put(MINUTE_LABELS[hour * 60], 0);
         }
 
-        LocalDateTime now = LocalDateTime.now();
-        String currentHour = now.format(timeFormatter);
-        result.put(currentHour, Bukkit.getOnlinePlayers().size());
+        long localMillis = HourlyDistribution.toLocalMillis(now, serverTimeZone);
+        hourlyDistribution.forEachInDay(HourlyDistribution.epochDay(localMillis),
+                (minuteOfDay, count) -> result.put(MINUTE_LABELS[minuteOfDay], count));
+
+        result.put(MINUTE_LABELS[HourlyDistribution.minuteOfDay(localMillis)], onlinePlayers);
 
         return result;
     }
 
     public List<TopPlayerData> getTopPlayers(int limit) {
-        if (limit > config.getMaxTopPlayersLimit()) {
-            limit = config.getMaxTopPlayersLimit();
-        }
+        List<TopPlayerData> topPlayers = snapshot.topPlayers();
+        return topPlayers.subList(0, Math.min(Math.max(limit, 0), topPlayers.size()));
+    }
 
+    private List<TopPlayerData> buildTopPlayers(int limit, long now) {
         List<TopPlayerData> result = new ArrayList<>();
-        Map<UUID, Long> combinedPlaytimes = new HashMap<>(playerPlaytimes);
 
-        long currentTime = System.currentTimeMillis();
-        for (Map.Entry<UUID, Long> entry : playerSessions.entrySet()) {
-            UUID uuid = entry.getKey();
-            long sessionStart = entry.getValue();
-            long sessionDuration = currentTime - sessionStart;
-
-            combinedPlaytimes.put(uuid, combinedPlaytimes.getOrDefault(uuid, 0L) + sessionDuration);
+        // Players without a known name are skipped, so widen the candidate list until the limit is filled
+        int candidates = limit;
+        while (true) {
+            List<PlayerTable.Ranked> ranked = players.top(candidates, now);
+            result.clear();
+            collectTopPlayers(ranked, limit, result);
+            if (result.size() >= limit || ranked.size() < candidates) {
+                break;
+            }
+            candidates *= 2;
         }
 
-        List<Map.Entry<UUID, Long>> sortedPlayers = new ArrayList<>(combinedPlaytimes.entrySet());
-        sortedPlayers.sort(Map.Entry.<UUID, Long>comparingByValue().reversed());
-
-        int count = 0;
-        for (Map.Entry<UUID, Long> entry : sortedPlayers) {
-            if (count >= limit) break;
-
-            UUID uuid = entry.getKey();
-            long playtime = entry.getValue();
-
-            OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(uuid);
-            String name = offlinePlayer.getName();
+        return result;
+    }
+    private void collectTopPlayers(List<PlayerTable.Ranked> ranked, int limit, List<TopPlayerData> result) {
+        for (PlayerTable.Ranked entry : ranked) {
+            if (result.size() >= limit) break;
 
-            if (name == null) continue;
+            if (entry.name() == null) continue;
 
             TopPlayerData.TopPlayerDataBuilder builder = TopPlayerData.builder()
-                    .name(name)
-                    .uuid(uuid.toString())
-                    .playtime(playtime)
-                    .online(offlinePlayer.isOnline());
-
-            if (offlinePlayer.isOnline()) {
-                Player player = offlinePlayer.getPlayer();
-                if (player != null) {
-                    builder.level(player.getLevel())
-                           .health(player.getHealth());
+                    .name(entry.name())
+                    .uuid(entry.uuid().toString())
+                    .playtime(entry.playtime())
+                    .online(entry.online());
+
+            if (entry.online()) {
+                OnlinePlayerState state = onlinePlayers.get(entry.uuid());
+                if (state != null) {
+                    builder.level(state.level())
+                           .health(state.health());
                 }
             }
 
             result.add(builder.build());
-            count++;
         }
-
-        return result;
-    }
-
-    private int countNewPlayers(long since) {
-        int count = 0;
-        for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
-            if (player.getFirstPlayed() >= since) {
-                count++;
-            }
-        }
-        return count;
     }
 
     public Long getPlayerPlaytime(String playerName) {
-        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
-        if (offlinePlayer == null || !offlinePlayer.hasPlayedBefore()) {
+        UUID uuid = resolvePlayer(playerName);
+        return uuid != null ? players.getPlaytime(uuid, System.currentTimeMillis()) : null;
+    }
+    
+    public Integer getPlayerRank(String playerName) {
+        UUID uuid = resolvePlayer(playerName);
+        if (uuid == null) {
             return null;
         }
-        
-        UUID uuid = offlinePlayer.getUniqueId();
-        long storedPlaytime = playerPlaytimes.getOrDefault(uuid, 0L);
-        
-        if (playerSessions.containsKey(uuid)) {
-            long sessionStart = playerSessions.get(uuid);
-            long sessionDuration = System.currentTimeMillis() - sessionStart;
-            return storedPlaytime + sessionDuration;
-        }
-        
-        return storedPlaytime;
+
+        int rank = players.rank(uuid, System.currentTimeMillis());
+        return rank > 0 ? rank : null;
     }
-    
+
     public Integer getPlayerLevel(String playerName) {
-        Player player = Bukkit.getPlayer(playerName);
-        if (player != null && player.isOnline()) {
-            return player.getLevel();
+        OnlinePlayerState state = onlinePlayers.getByName(playerName);
+        if (state != null) {
+            return state.level();
         }
         
-        OfflinePlayer offlinePlayer = Bukkit.getOfflinePlayer(playerName);
-        if (offlinePlayer.hasPlayedBefore()) {
-            UUID uuid = offlinePlayer.getUniqueId();
-            return playerLevels.get(uuid);
+        UUID uuid = resolvePlayer(playerName);
+        return uuid != null ? players.getLevel(uuid) : null;
+    }
+
+    /**
+     * Names are resolved against the online mirror and the local name index only, never through a profile lookup.
+     */
+    private UUID resolvePlayer(String playerName) {
+        OnlinePlayerState state = onlinePlayers.getByName(playerName);
+        if (state != null) {
+            return state.uuid();
         }
-        
-        return null;
+        NameIndex.Entry entry = nameIndex.get(playerName);
+        return entry != null ? entry.uuid() : null;
     }
 
-    private long calculateTotalPlaytime() {
-        Map<UUID, Long> combinedPlaytimes = new HashMap<>(playerPlaytimes);
+    public List<NameIndex.Entry> searchPlayerNames(String prefix, int limit) {
+        return nameIndex.search(prefix, limit);
+    }
 
-        long currentTime = System.currentTimeMillis();
-        for (Map.Entry<UUID, Long> entry : playerSessions.entrySet()) {
-            UUID uuid = entry.getKey();
-            long sessionStart = entry.getValue();
-            long sessionDuration = currentTime - sessionStart;
+    /**
+     * Resolves every name and UUID against the online mirror and the name index, with one locked read of the
+     * player table for the whole batch. Entries are keyed by the query as given, in request order;
+     * queries that match nobody are left out.
+     */
+    public Map<String, PlayerLookupData> lookupPlayers(Collection<String> names, Collection<UUID> uuids) {
+        Map<String, UUID> queries = new LinkedHashMap<>();
+        for (String name : names) {
+            queries.put(name, resolvePlayer(name));
+        }
+        for (UUID uuid : uuids) {
+            queries.put(uuid.toString(), uuid);
+        }
 
-            combinedPlaytimes.put(uuid, combinedPlaytimes.getOrDefault(uuid, 0L) + sessionDuration);
+        Set<UUID> resolved = new HashSet<>(queries.values());
+        resolved.remove(null);
+        Map<UUID, PlayerTable.Lookup> lookups = new HashMap<>();
+        for (PlayerTable.Lookup lookup : players.lookup(resolved, System.currentTimeMillis())) {
+            lookups.put(lookup.uuid(), lookup);
         }
 
-        return combinedPlaytimes.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, PlayerLookupData> result = new LinkedHashMap<>();
+        queries.forEach((query, uuid) -> {
+            PlayerTable.Lookup lookup = uuid != null ? lookups.get(uuid) : null;
+            if (lookup == null) {
+                return;
+            }
+            OnlinePlayerState state = onlinePlayers.get(uuid);
+            result.put(query, PlayerLookupData.builder()
+                    .query(query)
+                    .name(state != null ? state.name() : lookup.name())
+                    .uuid(uuid.toString())
+                    .playtime(lookup.playtime())
+                    .level(state != null ? state.level() : lookup.level())
+                    .online(state != null)
+                    .rank(lookup.rank())
+                    .build());
+        });
+        return result;
+    }
+
+    public boolean isPlayerOnline(String playerName) {
+        return onlinePlayers.isOnline(playerName);
     }
 }
\ No newline at end of file
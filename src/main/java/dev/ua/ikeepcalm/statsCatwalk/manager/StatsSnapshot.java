@@ -0,0 +1,35 @@
+package dev.ua.ikeepcalm.statsCatwalk.manager;
+
+import dev.ua.ikeepcalm.statsCatwalk.api.response.TopPlayerData;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Pre-aggregated, immutable view of the stats that the API serves. A new instance is built after every
+ * collection and after player joins and quits, then published through a single volatile reference.
+ */
+public record StatsSnapshot(
+        long createdAt,
+        int totalPlayers,
+        int onlinePlayers,
+        long totalPlaytime,
+        long totalSessions,
+        long averageSessionLength,
+        SortedMap<String, Integer> hourlyDistribution,
+        List<TopPlayerData> topPlayers
+) {
+
+    public static final StatsSnapshot EMPTY = new StatsSnapshot(0L, 0, 0, 0L, 0L, 0L, new TreeMap<>(), List.of());
+
+    public StatsSnapshot {
+        hourlyDistribution = Collections.unmodifiableSortedMap(new TreeMap<>(hourlyDistribution));
+        topPlayers = List.copyOf(topPlayers);
+    }
+
+    public long averagePlaytime() {
+        return totalPlayers > 0 ? totalPlaytime / totalPlayers : 0;
+    }
+}
@@ -0,0 +1,144 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlineHistoryResolution;
+import dev.ua.ikeepcalm.statsCatwalk.data.RollupBucket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+public class FileStatsStorage implements StatsStorage {
+
+    private final Path dataFolder;
+    private final Logger logger;
+
+    private OnlineHistoryLog onlineHistoryLog;
+    private HourlyDistributionFile hourlyDistribution;
+    private PlayerTableFile playerTable;
+    private final Map<OnlineHistoryResolution, RollupFile> rollupFiles = new EnumMap<>(OnlineHistoryResolution.class);
+
+    public FileStatsStorage(Path dataFolder, Logger logger) {
+        this.dataFolder = dataFolder;
+        this.logger = logger;
+    }
+
+    @Override
+    public void open() throws IOException {
+        Files.createDirectories(dataFolder);
+
+        onlineHistoryLog = new OnlineHistoryLog(dataFolder.resolve("online_history"), logger);
+        new OnlineHistoryMigrator(onlineHistoryLog, logger).migrate(dataFolder.resolve("online_history.csv"));
+
+        rollupFiles.put(OnlineHistoryResolution.HOURLY, new RollupFile(dataFolder.resolve("rollups_hourly.dat"), logger));
+        rollupFiles.put(OnlineHistoryResolution.DAILY, new RollupFile(dataFolder.resolve("rollups_daily.dat"), logger));
+
+        hourlyDistribution = new HourlyDistributionFile(dataFolder.resolve("hourly_distribution.dat"), logger);
+        new HourlyDistributionMigrator(hourlyDistribution, logger).migrate(dataFolder.resolve("hourly_distribution.csv"));
+
+        playerTable = new PlayerTableFile(dataFolder.resolve("players.dat"), logger);
+        new PlayerTableMigrator(playerTable, logger).migrate(
+                dataFolder.resolve("player_playtimes.csv"), dataFolder.resolve("player_levels.csv"));
+    }
+
+    @Override
+    public int loadOnlineHistory(long from, long to, SampleConsumer consumer) throws IOException {
+        return onlineHistoryLog.replay(from, to, consumer);
+    }
+
+    @Override
+    public void appendOnlineHistory(List<OnlineSample> samples) throws IOException {
+        for (OnlineSample sample : samples) {
+            onlineHistoryLog.append(sample.timestamp(), sample.count());
+        }
+    }
+
+    @Override
+    public int compactOnlineHistory(long cutoffTime) throws IOException {
+        if (!onlineHistoryLog.needsCompaction(cutoffTime)) {
+            return 0;
+        }
+        return onlineHistoryLog.compact(cutoffTime);
+    }
+
+    @Override
+    public int loadRollups(OnlineHistoryResolution resolution, long from, Consumer<RollupBucket> consumer) throws IOException {
+        return rollupFile(resolution).load(from, consumer);
+    }
+
+    @Override
+    public void saveRollups(OnlineHistoryResolution resolution, List<RollupBucket> buckets) throws IOException {
+        rollupFile(resolution).append(buckets);
+    }
+
+    @Override
+    public int compactRollups(OnlineHistoryResolution resolution, long cutoffTime) throws IOException {
+        return rollupFile(resolution).compact(cutoffTime);
+    }
+
+    @Override
+    public int loadHourlyDistribution(long fromDay, HourlyConsumer consumer) throws IOException {
+        return hourlyDistribution.load(fromDay, consumer);
+    }
+
+    @Override
+    public void appendHourlyDistribution(List<HourlySample> samples) throws IOException {
+        hourlyDistribution.append(samples);
+    }
+
+    @Override
+    public int compactHourlyDistribution(long cutoffDay) throws IOException {
+        return hourlyDistribution.compact(cutoffDay);
+    }
+
+    @Override
+    public int loadPlayers(Consumer<PlayerRecord> consumer) throws IOException {
+        return playerTable.load(consumer);
+    }
+
+    @Override
+    public void savePlayers(Collection<PlayerRecord> records) throws IOException {
+        for (PlayerRecord record : records) {
+            playerTable.write(record);
+        }
+        playerTable.sync();
+    }
+
+    private RollupFile rollupFile(OnlineHistoryResolution resolution) {
+        RollupFile file = rollupFiles.get(resolution);
+        if (file == null) {
+            throw new IllegalArgumentException("No rollups are stored for " + resolution);
+        }
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<Closeable> closeables = new ArrayList<>(rollupFiles.values());
+        closeables.add(onlineHistoryLog);
+        closeables.add(hourlyDistribution);
+        closeables.add(playerTable);
+
+        IOException failure = null;
+        for (Closeable closeable : closeables) {
+            if (closeable == null) {
+                continue;
+            }
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Append-only file of fixed-size records, each identified by a long key; a later record for a key replaces an
+ * earlier one. A torn record at the end is truncated on open, and compaction writes the survivors to a temp
+ * file that is moved over the original atomically, so a crash leaves either the old or the new file.
+ */
+class FixedRecordFile<T> implements Closeable {
+
+    private final Path file;
+    private final String description;
+    private final Codec<T> codec;
+    private final int recordSize;
+    private final Logger logger;
+
+    private FileChannel channel;
+
+    FixedRecordFile(Path file, String description, Codec<T> codec, Logger logger) throws IOException {
+        this.file = file;
+        this.description = description;
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        this.logger = logger;
+        this.channel = open();
+    }
+
+    synchronized long records() throws IOException {
+        return channel.size() / recordSize;
+    }
+
+    /**
+     * Latest record per key, in the order those records were written.
+     */
+    synchronized Map<Long, T> readAll() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+
+        Map<Long, T> records = new LinkedHashMap<>();
+        while (buffer.remaining() >= recordSize) {
+            T record = codec.read(buffer);
+            long key = codec.key(record);
+            records.remove(key);
+            records.put(key, record);
+        }
+        return records;
+    }
+
+    synchronized void append(Collection<T> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(recordSize * records.size());
+        for (T record : records) {
+            codec.write(buffer, record);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Rewrites the file with the latest record of every key that {@code keep} accepts and returns how many
+     * records were dropped, superseded ones included.
+     */
+    synchronized int compact(Predicate<T> keep) throws IOException {
+        Map<Long, T> records = readAll();
+        records.values().removeIf(keep.negate());
+
+        ByteBuffer buffer = ByteBuffer.allocate(recordSize * records.size());
+        for (T record : records.values()) {
+            codec.write(buffer, record);
+        }
+        buffer.flip();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+
+        long before = records();
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open();
+        return (int) (before - records.size());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private FileChannel open() throws IOException {
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long complete = opened.size() - opened.size() % recordSize;
+        if (complete < opened.size()) {
+            logger.warning("Truncating incomplete " + description + " record in " + file.getFileName());
+            opened.truncate(complete);
+        }
+        opened.position(complete);
+        return opened;
+    }
+
+    interface Codec<T> {
+
+        int recordSize();
+
+        T read(ByteBuffer buffer);
+
+        void write(ByteBuffer buffer, T record);
+
+        long key(T record);
+    }
+}
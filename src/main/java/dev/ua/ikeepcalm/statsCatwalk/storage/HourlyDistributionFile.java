@@ -0,0 +1,88 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Append-only file of fixed 10 byte hourly distribution records (epoch day, minute of day, online count).
+ * A later record for the same minute replaces an earlier one.
+ */
+public class HourlyDistributionFile implements Closeable {
+
+    private static final FixedRecordFile.Codec<StatsStorage.HourlySample> CODEC = new FixedRecordFile.Codec<>() {
+        @Override
+        public int recordSize() {
+            return Integer.BYTES + Short.BYTES + Integer.BYTES;
+        }
+
+        @Override
+        public StatsStorage.HourlySample read(ByteBuffer buffer) {
+            return new StatsStorage.HourlySample(buffer.getInt(), buffer.getShort(), buffer.getInt());
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, StatsStorage.HourlySample sample) {
+            buffer.putInt((int) sample.epochDay())
+                    .putShort((short) sample.minuteOfDay())
+                    .putInt(sample.count());
+        }
+
+        @Override
+        public long key(StatsStorage.HourlySample sample) {
+            return sample.epochDay() * 24 * 60 + sample.minuteOfDay();
+        }
+    };
+
+    private final FixedRecordFile<StatsStorage.HourlySample> records;
+
+    private long oldestDay = Long.MAX_VALUE;
+
+    public HourlyDistributionFile(Path file, Logger logger) throws IOException {
+        this.records = new FixedRecordFile<>(file, "hourly distribution", CODEC, logger);
+    }
+
+    public synchronized int load(long fromDay, StatsStorage.HourlyConsumer consumer) throws IOException {
+        int loaded = 0;
+        for (StatsStorage.HourlySample sample : records.readAll().values()) {
+            oldestDay = Math.min(oldestDay, sample.epochDay());
+            if (sample.epochDay() >= fromDay) {
+                consumer.accept(sample.epochDay(), sample.minuteOfDay(), sample.count());
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void append(List<StatsStorage.HourlySample> samples) throws IOException {
+        records.append(samples);
+        for (StatsStorage.HourlySample sample : samples) {
+            oldestDay = Math.min(oldestDay, sample.epochDay());
+        }
+    }
+
+    public synchronized int compact(long cutoffDay) throws IOException {
+        if (oldestDay >= cutoffDay) {
+            return 0;
+        }
+
+        long[] oldest = {Long.MAX_VALUE};
+        int removed = records.compact(sample -> {
+            boolean keep = sample.epochDay() >= cutoffDay;
+            if (keep) {
+                oldest[0] = Math.min(oldest[0], sample.epochDay());
+            }
+            return keep;
+        });
+        oldestDay = oldest[0];
+        return removed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        records.close();
+    }
+}
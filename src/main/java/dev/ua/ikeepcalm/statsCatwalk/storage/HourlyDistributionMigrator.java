@@ -0,0 +1,69 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+public class HourlyDistributionMigrator {
+
+    private final HourlyDistributionFile target;
+    private final Logger logger;
+
+    public HourlyDistributionMigrator(HourlyDistributionFile target, Logger logger) {
+        this.target = target;
+        this.logger = logger;
+    }
+
+    public void migrate(Path legacyCsv) throws IOException {
+        if (!Files.exists(legacyCsv)) {
+            return;
+        }
+
+        // The CSV is only renamed after the append, so a rerun after a crash fills in the cells that are still
+        // missing instead of skipping the migration or writing every cell twice
+        Set<Long> existing = new HashSet<>();
+        target.load(Long.MIN_VALUE, (day, minute, count) -> existing.add(cell(day, minute)));
+
+        List<StatsStorage.HourlySample> samples = new ArrayList<>();
+        int present = 0;
+        for (String line : Files.readAllLines(legacyCsv)) {
+            String[] parts = line.split(",");
+            if (parts.length != 3) {
+                continue;
+            }
+            try {
+                StatsStorage.HourlySample sample = parseLegacy(parts[0], parts[1], Integer.parseInt(parts[2]));
+                if (existing.contains(cell(sample.epochDay(), sample.minuteOfDay()))) {
+                    present++;
+                } else {
+                    samples.add(sample);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                logger.warning("Invalid data format in hourly distribution: " + line);
+            }
+        }
+
+        target.append(samples);
+        Files.move(legacyCsv, legacyCsv.resolveSibling(legacyCsv.getFileName() + ".migrated"), StandardCopyOption.REPLACE_EXISTING);
+        logger.info("Migrated " + samples.size() + " hourly distribution entries"
+                + (present == 0 ? "" : ", " + present + " were already present"));
+    }
+
+    private static StatsStorage.HourlySample parseLegacy(String hour, String date, int count) throws DateTimeParseException {
+        LocalTime time = LocalTime.parse(hour);
+        return new StatsStorage.HourlySample(LocalDate.parse(date).toEpochDay(), time.getHour() * 60 + time.getMinute(), count);
+    }
+
+    private static long cell(long epochDay, int minuteOfDay) {
+        return epochDay * 24 * 60 + minuteOfDay;
+    }
+}
@@ -0,0 +1,252 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Append-only online history log split into one binary segment per UTC day.
+ * <p>
+ * A segment starts with a 13 byte header (magic, version, base timestamp) followed by records of a
+ * zigzag varint delta-of-delta timestamp and a varint player count. With a steady collection interval
+ * most records take two or three bytes.
+ */
+public class OnlineHistoryLog implements Closeable {
+
+    static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".bin";
+
+    private static final int MAGIC = 0x53434F48;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + 1 + Long.BYTES;
+    private static final int SYNC_BATCH_SIZE = 6;
+
+    private final Path directory;
+    private final Logger logger;
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(VarInt.MAX_LONG_BYTES * 2);
+
+    private FileChannel activeChannel;
+    private long activeDay = Long.MIN_VALUE;
+    private long lastTimestamp;
+    private long lastDelta;
+    private long oldestDay = Long.MAX_VALUE;
+    private int unsyncedAppends;
+
+    public OnlineHistoryLog(Path directory, Logger logger) throws IOException {
+        this.directory = directory;
+        this.logger = logger;
+        Files.createDirectories(directory);
+    }
+
+    public synchronized int replay(long from, long to, StatsStorage.SampleConsumer consumer) throws IOException {
+        int[] replayed = new int[1];
+        for (long day : listSegmentDays()) {
+            oldestDay = Math.min(oldestDay, day);
+            if (segmentEnd(day) < from || day * DAY_MILLIS > to) {
+                continue;
+            }
+
+            try (FileChannel channel = FileChannel.open(segmentPath(day), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                decode(buffer, day, (timestamp, count) -> {
+                    if (timestamp >= from && timestamp <= to) {
+                        consumer.accept(timestamp, count);
+                        replayed[0]++;
+                    }
+                });
+            }
+        }
+        return replayed[0];
+    }
+
+    /**
+     * Timestamp of the last record in the log, or {@link Long#MIN_VALUE} when it holds none.
+     */
+    public synchronized long newestTimestamp() throws IOException {
+        List<Long> days = listSegmentDays();
+        for (int i = days.size() - 1; i >= 0; i--) {
+            long day = days.get(i);
+            try (FileChannel channel = FileChannel.open(segmentPath(day), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                SegmentCursor cursor = decode(buffer, day, (timestamp, count) -> {
+                });
+                if (cursor.end > HEADER_SIZE) {
+                    return cursor.lastTimestamp;
+                }
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    public synchronized void append(long timestamp, int count) throws IOException {
+        long day = Math.floorDiv(timestamp, DAY_MILLIS);
+        if (day != activeDay) {
+            openSegment(day);
+        }
+
+        long delta = timestamp - lastTimestamp;
+        recordBuffer.clear();
+        VarInt.writeSigned(recordBuffer, delta - lastDelta);
+        VarInt.writeUnsigned(recordBuffer, Math.max(0, count));
+        recordBuffer.flip();
+        while (recordBuffer.hasRemaining()) {
+            activeChannel.write(recordBuffer);
+        }
+
+        lastTimestamp = timestamp;
+        lastDelta = delta;
+
+        if (++unsyncedAppends >= SYNC_BATCH_SIZE) {
+            sync();
+        }
+    }
+
+    public synchronized void sync() throws IOException {
+        if (activeChannel != null && unsyncedAppends > 0) {
+            activeChannel.force(false);
+        }
+        unsyncedAppends = 0;
+    }
+
+    public synchronized boolean needsCompaction(long cutoffTime) {
+        return segmentEnd(oldestDay) < cutoffTime;
+    }
+
+    public int compact(long cutoffTime) throws IOException {
+        List<Long> expired = new ArrayList<>();
+        synchronized (this) {
+            long retained = Long.MAX_VALUE;
+            for (long day : listSegmentDays()) {
+                if (segmentEnd(day) < cutoffTime && day != activeDay) {
+                    expired.add(day);
+                } else {
+                    retained = Math.min(retained, day);
+                }
+            }
+            oldestDay = retained;
+        }
+
+        for (long day : expired) {
+            Files.deleteIfExists(segmentPath(day));
+        }
+        return expired.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (activeChannel != null) {
+            sync();
+            activeChannel.close();
+            activeChannel = null;
+            activeDay = Long.MIN_VALUE;
+        }
+    }
+
+    private void openSegment(long day) throws IOException {
+        if (activeChannel != null) {
+            sync();
+            activeChannel.close();
+        }
+
+        activeChannel = FileChannel.open(segmentPath(day),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (activeChannel.size() < HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).put(VERSION).putLong(day * DAY_MILLIS).flip();
+            activeChannel.truncate(0);
+            activeChannel.write(header, 0);
+            activeChannel.position(HEADER_SIZE);
+            lastTimestamp = day * DAY_MILLIS;
+            lastDelta = 0;
+        } else {
+            // Not mapped: some platforms refuse to truncate a file while a mapping is open
+            ByteBuffer buffer = ByteBuffer.allocate((int) activeChannel.size());
+            while (buffer.hasRemaining()) {
+                if (activeChannel.read(buffer, buffer.position()) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            SegmentCursor cursor = decode(buffer, day, (timestamp, count) -> {
+            });
+            if (cursor.end < activeChannel.size()) {
+                logger.warning("Truncating " + (activeChannel.size() - cursor.end) + " bytes of incomplete online history record");
+                activeChannel.truncate(cursor.end);
+            }
+            activeChannel.position(cursor.end);
+            lastTimestamp = cursor.lastTimestamp;
+            lastDelta = cursor.lastDelta;
+        }
+
+        activeDay = day;
+        oldestDay = Math.min(oldestDay, day);
+    }
+
+    private SegmentCursor decode(ByteBuffer buffer, long day, StatsStorage.SampleConsumer consumer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return new SegmentCursor(day * DAY_MILLIS, 0, HEADER_SIZE);
+        }
+
+        if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            throw new IOException("Unrecognized online history segment " + segmentPath(day).getFileName());
+        }
+
+        long timestamp = buffer.getLong();
+        long delta = 0;
+        int end = buffer.position();
+        try {
+            while (buffer.hasRemaining()) {
+                long nextDelta = delta + VarInt.readSigned(buffer);
+                int count = (int) VarInt.readUnsigned(buffer);
+                delta = nextDelta;
+                timestamp += delta;
+                end = buffer.position();
+                consumer.accept(timestamp, count);
+            }
+        } catch (BufferUnderflowException e) {
+            logger.warning("Online history segment " + day + " ends with an incomplete record");
+        }
+        return new SegmentCursor(timestamp, delta, end);
+    }
+
+    private List<Long> listSegmentDays() throws IOException {
+        List<Long> days = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    try {
+                        days.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                    } catch (NumberFormatException e) {
+                        logger.warning("Ignoring unexpected file in online history log: " + name);
+                    }
+                }
+            });
+        }
+        days.sort(null);
+        return days;
+    }
+
+    private Path segmentPath(long day) {
+        return directory.resolve(SEGMENT_PREFIX + day + SEGMENT_SUFFIX);
+    }
+
+    private static long segmentEnd(long day) {
+        return day == Long.MAX_VALUE ? Long.MAX_VALUE : (day + 1) * DAY_MILLIS - 1;
+    }
+
+    private record SegmentCursor(long lastTimestamp, long lastDelta, int end) {
+    }
+}
@@ -0,0 +1,66 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+public class OnlineHistoryMigrator {
+
+    private final OnlineHistoryLog log;
+    private final Logger logger;
+
+    public OnlineHistoryMigrator(OnlineHistoryLog log, Logger logger) {
+        this.log = log;
+        this.logger = logger;
+    }
+
+    public void migrate(Path legacyFile) throws IOException {
+        if (!Files.exists(legacyFile)) {
+            return;
+        }
+
+        List<long[]> samples = new ArrayList<>();
+        for (String line : Files.readAllLines(legacyFile)) {
+            long[] sample = parse(line);
+            if (sample == null) {
+                logger.warning("Invalid data format in online history: " + line);
+                continue;
+            }
+            samples.add(sample);
+        }
+        samples.sort((a, b) -> Long.compare(a[0], b[0]));
+
+        // The CSV is only renamed after the import, so a rerun after a crash resumes where the log ends
+        // instead of appending everything again
+        long newest = log.newestTimestamp();
+        int migrated = 0;
+        for (long[] sample : samples) {
+            if (sample[0] > newest) {
+                log.append(sample[0], (int) sample[1]);
+                migrated++;
+            }
+        }
+        log.sync();
+
+        Files.move(legacyFile, legacyFile.resolveSibling(legacyFile.getFileName() + ".migrated"),
+                StandardCopyOption.REPLACE_EXISTING);
+        logger.info("Migrated " + migrated + " online history records to the binary segment format"
+                + (migrated < samples.size() ? ", " + (samples.size() - migrated) + " were already in the log" : ""));
+    }
+
+    private static long[] parse(String line) {
+        String[] parts = line.split(",");
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            return new long[]{Long.parseLong(parts[0]), Integer.parseInt(parts[1])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single writer thread that owns all stats file I/O.
+ * <p>
+ * Callers only mark a target dirty. A target is queued at most once until its flush starts, so the queue
+ * never holds more than one marker per target and a burst of marks collapses into one flush per window.
+ */
+public class PersistenceQueue {
+
+    public enum Target {
+        ONLINE_HISTORY,
+        ROLLUPS,
+        HOURLY_DISTRIBUTION,
+        PLAYER_TABLE
+    }
+
+    private final Logger logger;
+    private final long windowMillis;
+    private final Map<Target, Runnable> flushers = new EnumMap<>(Target.class);
+    private final Map<Target, AtomicBoolean> pending = new EnumMap<>(Target.class);
+    private final BlockingQueue<Target> markers = new ArrayBlockingQueue<>(Target.values().length);
+    private final CountDownLatch stopSignal = new CountDownLatch(1);
+    private final Thread writer;
+
+    private volatile boolean started;
+    private volatile boolean stopping;
+
+    public PersistenceQueue(Logger logger, long windowMillis) {
+        this.logger = logger;
+        this.windowMillis = windowMillis;
+        for (Target target : Target.values()) {
+            pending.put(target, new AtomicBoolean());
+        }
+        this.writer = new Thread(this::run, "StatsCatwalk-Persistence");
+        this.writer.setDaemon(true);
+    }
+
+    public void register(Target target, Runnable flusher) {
+        flushers.put(target, flusher);
+    }
+
+    public void start() {
+        started = true;
+        writer.start();
+    }
+
+    public void markDirty(Target target) {
+        if (pending.get(target).compareAndSet(false, true)) {
+            markers.offer(target);
+        }
+    }
+
+    public boolean shutdown(long timeoutMillis) {
+        stopping = true;
+        for (Target target : Target.values()) {
+            markDirty(target);
+        }
+        if (!started) {
+            flushPending();
+            return true;
+        }
+        // Wake the writer without interrupting it, an interrupt would close any FileChannel it is using
+        stopSignal.countDown();
+
+        try {
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !writer.isAlive();
+    }
+
+    private void run() {
+        while (!stopping) {
+            try {
+                Target first = markers.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                markers.offer(first);
+                stopSignal.await(windowMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            flushPending();
+        }
+        flushPending();
+    }
+
+    private void flushPending() {
+        Set<Target> batch = EnumSet.noneOf(Target.class);
+        Target target;
+        while ((target = markers.poll()) != null) {
+            batch.add(target);
+        }
+
+        for (Target dirty : batch) {
+            pending.get(dirty).set(false);
+            Runnable flusher = flushers.get(dirty);
+            if (flusher == null) {
+                continue;
+            }
+            try {
+                flusher.run();
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Failed to flush " + dirty, e);
+            }
+        }
+    }
+}
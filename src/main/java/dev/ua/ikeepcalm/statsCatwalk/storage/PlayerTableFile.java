@@ -0,0 +1,186 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Paged player table with one fixed 64 byte record per player.
+ * <p>
+ * Page 0 holds the header; every following 4 KiB page holds 64 records laid out as UUID (16), playtime (8),
+ * level (4), last seen (8), name (1 length byte and up to 19 UTF-8 bytes), completed sessions (4) and the
+ * playtime those sessions cover in seconds (4). A zero name length means the name is unknown. Updates rewrite a
+ * single record in place, so the cost of a save does not depend on how many players the table holds.
+ */
+public class PlayerTableFile implements Closeable {
+
+    private static final int MAGIC = 0x53435054;
+    private static final int VERSION = 1;
+    private static final int PAGE_SIZE = 4096;
+    private static final int RECORD_SIZE = 64;
+    private static final int RECORDS_PER_PAGE = PAGE_SIZE / RECORD_SIZE;
+
+    private static final int HEADER_SLOT_COUNT_OFFSET = 12;
+
+    private static final int PLAYTIME_OFFSET = 16;
+    private static final int LEVEL_OFFSET = 24;
+    private static final int LAST_SEEN_OFFSET = 28;
+    private static final int NAME_OFFSET = 36;
+    private static final int NAME_MAX_BYTES = 19;
+    private static final int SESSIONS_OFFSET = 56;
+    private static final int SESSION_SECONDS_OFFSET = 60;
+
+    private final FileChannel channel;
+    private final Logger logger;
+    private final Map<UUID, Integer> slotIndex = new HashMap<>();
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE);
+
+    private int slotCount;
+    private boolean dirty;
+
+    public PlayerTableFile(Path file, Logger logger) throws IOException {
+        this.logger = logger;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() < PAGE_SIZE) {
+            writeHeader();
+        } else {
+            readHeader(file);
+        }
+    }
+
+    public synchronized int load(Consumer<StatsStorage.PlayerRecord> consumer) throws IOException {
+        slotIndex.clear();
+
+        ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE);
+        int loaded = 0;
+        for (int pageStart = 0; pageStart < slotCount; pageStart += RECORDS_PER_PAGE) {
+            page.clear();
+            long position = pageOffset(pageStart);
+            while (page.hasRemaining()) {
+                if (channel.read(page, position + page.position()) < 0) {
+                    break;
+                }
+            }
+
+            int pageEnd = Math.min(slotCount, pageStart + RECORDS_PER_PAGE);
+            for (int slot = pageStart; slot < pageEnd; slot++) {
+                int base = (slot - pageStart) * RECORD_SIZE;
+                UUID uuid = new UUID(page.getLong(base), page.getLong(base + Long.BYTES));
+                if (slotIndex.putIfAbsent(uuid, slot) != null) {
+                    logger.warning("Duplicate player table record for " + uuid + " in slot " + slot);
+                    continue;
+                }
+                consumer.accept(new StatsStorage.PlayerRecord(uuid, page.getLong(base + PLAYTIME_OFFSET),
+                        page.getInt(base + LEVEL_OFFSET), page.getLong(base + LAST_SEEN_OFFSET),
+                        readName(page, base + NAME_OFFSET), page.getInt(base + SESSIONS_OFFSET),
+                        Integer.toUnsignedLong(page.getInt(base + SESSION_SECONDS_OFFSET)) * 1000L));
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void write(StatsStorage.PlayerRecord record) throws IOException {
+        UUID uuid = record.uuid();
+        String name = record.name();
+        Integer slot = slotIndex.get(uuid);
+        if (slot == null) {
+            slot = allocateSlot();
+            slotIndex.put(uuid, slot);
+        }
+
+        recordBuffer.clear();
+        recordBuffer.putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .putLong(record.playtime())
+                .putInt(record.level())
+                .putLong(record.lastSeen());
+
+        byte[] nameBytes = name != null ? name.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (nameBytes.length > NAME_MAX_BYTES) {
+            logger.warning("Player name " + name + " is too long for the player table, storing it as unknown");
+            nameBytes = new byte[0];
+        }
+        recordBuffer.put((byte) nameBytes.length).put(nameBytes);
+        while (recordBuffer.position() < SESSIONS_OFFSET) {
+            recordBuffer.put((byte) 0);
+        }
+        recordBuffer.putInt(record.sessions())
+                .putInt((int) Math.min(record.sessionTime() / 1000L, 0xFFFFFFFFL));
+        writeRecord(slot);
+    }
+
+    public synchronized void sync() throws IOException {
+        if (dirty) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sync();
+        channel.close();
+    }
+
+    private int allocateSlot() throws IOException {
+        int slot = slotCount++;
+        ByteBuffer count = ByteBuffer.allocate(Integer.BYTES).putInt(0, slotCount);
+        channel.write(count, HEADER_SLOT_COUNT_OFFSET);
+        return slot;
+    }
+
+    private void writeRecord(int slot) throws IOException {
+        recordBuffer.flip();
+        long position = pageOffset(slot) + (long) (slot % RECORDS_PER_PAGE) * RECORD_SIZE;
+        while (recordBuffer.hasRemaining()) {
+            position += channel.write(recordBuffer, position);
+        }
+        dirty = true;
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0);
+        header.clear();
+        channel.truncate(0);
+        channel.write(header, 0);
+        channel.force(true);
+        slotCount = 0;
+    }
+
+    private void readHeader(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SLOT_COUNT_OFFSET + Integer.BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != RECORD_SIZE) {
+            throw new IOException("Unrecognized player table file " + file.getFileName());
+        }
+        slotCount = header.getInt();
+    }
+
+    private static String readName(ByteBuffer page, int offset) {
+        int length = page.get(offset);
+        if (length <= 0 || length > NAME_MAX_BYTES) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        page.get(offset + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long pageOffset(int slot) {
+        return (long) (slot / RECORDS_PER_PAGE + 1) * PAGE_SIZE;
+    }
+}
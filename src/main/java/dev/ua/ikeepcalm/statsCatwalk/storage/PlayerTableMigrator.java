@@ -0,0 +1,75 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+public class PlayerTableMigrator {
+
+    private final PlayerTableFile table;
+    private final Logger logger;
+
+    public PlayerTableMigrator(PlayerTableFile table, Logger logger) {
+        this.table = table;
+        this.logger = logger;
+    }
+
+    public void migrate(Path playtimesFile, Path levelsFile) throws IOException {
+        if (!Files.exists(playtimesFile) && !Files.exists(levelsFile)) {
+            return;
+        }
+
+        // Loading also indexes existing slots, so a rerun after a crash or a restored backup never appends
+        // a second record for a player that is already in the table
+        Set<UUID> existing = new HashSet<>();
+        table.load(record -> existing.add(record.uuid()));
+
+        Map<UUID, Long> playtimes = new HashMap<>();
+        Map<UUID, Long> levels = new HashMap<>();
+        readCsv(playtimesFile, playtimes, "player playtimes");
+        readCsv(levelsFile, levels, "player levels");
+
+        Set<UUID> players = new LinkedHashSet<>(playtimes.keySet());
+        players.addAll(levels.keySet());
+        players.removeAll(existing);
+        for (UUID uuid : players) {
+            table.write(new StatsStorage.PlayerRecord(uuid, playtimes.getOrDefault(uuid, 0L),
+                    levels.getOrDefault(uuid, 0L).intValue(), 0L, null, 0, 0L));
+        }
+        table.sync();
+
+        for (Path file : new Path[]{playtimesFile, levelsFile}) {
+            if (Files.exists(file)) {
+                Files.move(file, file.resolveSibling(file.getFileName() + ".migrated"), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        logger.info("Migrated " + players.size() + " players to the player table"
+                + (existing.isEmpty() ? "" : ", " + existing.size() + " were already present"));
+    }
+
+    private void readCsv(Path file, Map<UUID, Long> target, String description) throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        for (String line : Files.readAllLines(file)) {
+            String[] parts = line.split(",");
+            if (parts.length != 2) {
+                continue;
+            }
+            try {
+                target.put(UUID.fromString(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException e) {
+                logger.warning("Invalid data format in " + description + ": " + line);
+            }
+        }
+    }
+}
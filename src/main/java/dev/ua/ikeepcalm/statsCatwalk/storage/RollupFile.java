@@ -0,0 +1,94 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import dev.ua.ikeepcalm.statsCatwalk.data.RollupBucket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Append-only file of fixed 28 byte rollup records (bucket start, min, max, sum, samples).
+ * A bucket may be appended more than once, for example when a partial bucket is saved on shutdown;
+ * the last record for a bucket wins.
+ */
+public class RollupFile implements Closeable {
+
+    private static final FixedRecordFile.Codec<RollupBucket> CODEC = new FixedRecordFile.Codec<>() {
+        @Override
+        public int recordSize() {
+            return Long.BYTES + Integer.BYTES * 2 + Long.BYTES + Integer.BYTES;
+        }
+
+        @Override
+        public RollupBucket read(ByteBuffer buffer) {
+            return new RollupBucket(buffer.getLong(), buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getInt());
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, RollupBucket bucket) {
+            buffer.putLong(bucket.start())
+                    .putInt(bucket.min())
+                    .putInt(bucket.max())
+                    .putLong(bucket.sum())
+                    .putInt(bucket.samples());
+        }
+
+        @Override
+        public long key(RollupBucket bucket) {
+            return bucket.start();
+        }
+    };
+
+    private final FixedRecordFile<RollupBucket> records;
+
+    private long oldestStart = Long.MAX_VALUE;
+
+    public RollupFile(Path file, Logger logger) throws IOException {
+        this.records = new FixedRecordFile<>(file, "rollup", CODEC, logger);
+    }
+
+    public synchronized int load(long from, Consumer<RollupBucket> consumer) throws IOException {
+        int loaded = 0;
+        for (RollupBucket bucket : records.readAll().values()) {
+            oldestStart = Math.min(oldestStart, bucket.start());
+            if (bucket.start() >= from) {
+                consumer.accept(bucket);
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    public synchronized void append(List<RollupBucket> buckets) throws IOException {
+        records.append(buckets);
+        for (RollupBucket bucket : buckets) {
+            oldestStart = Math.min(oldestStart, bucket.start());
+        }
+    }
+
+    public synchronized int compact(long cutoffTime) throws IOException {
+        if (oldestStart >= cutoffTime) {
+            return 0;
+        }
+
+        long[] oldest = {Long.MAX_VALUE};
+        int removed = records.compact(bucket -> {
+            boolean keep = bucket.start() >= cutoffTime;
+            if (keep) {
+                oldest[0] = Math.min(oldest[0], bucket.start());
+            }
+            return keep;
+        });
+        oldestStart = oldest[0];
+        return removed;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        records.close();
+    }
+}
@@ -0,0 +1,288 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlineHistoryResolution;
+import dev.ua.ikeepcalm.statsCatwalk.data.RollupBucket;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+public class SqliteStatsStorage implements StatsStorage {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS online_history (" +
+                    "timestamp INTEGER PRIMARY KEY, " +
+                    "online INTEGER NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS online_rollups (" +
+                    "resolution TEXT NOT NULL, " +
+                    "bucket_start INTEGER NOT NULL, " +
+                    "min_online INTEGER NOT NULL, " +
+                    "max_online INTEGER NOT NULL, " +
+                    "sum_online INTEGER NOT NULL, " +
+                    "samples INTEGER NOT NULL, " +
+                    "PRIMARY KEY (resolution, bucket_start))",
+            "CREATE TABLE IF NOT EXISTS hourly_samples (" +
+                    "epoch_day INTEGER NOT NULL, " +
+                    "minute INTEGER NOT NULL, " +
+                    "online INTEGER NOT NULL, " +
+                    "PRIMARY KEY (epoch_day, minute)) WITHOUT ROWID",
+            "CREATE TABLE IF NOT EXISTS players (" +
+                    "uuid TEXT PRIMARY KEY, " +
+                    "playtime INTEGER NOT NULL, " +
+                    "level INTEGER NOT NULL, " +
+                    "last_seen INTEGER NOT NULL, " +
+                    "name TEXT, " +
+                    "sessions INTEGER NOT NULL DEFAULT 0, " +
+                    "session_time INTEGER NOT NULL DEFAULT 0)"
+    };
+
+    private final Path databaseFile;
+    private final Logger logger;
+
+    private Connection connection;
+
+    public SqliteStatsStorage(Path databaseFile, Logger logger) {
+        this.databaseFile = databaseFile;
+        this.logger = logger;
+    }
+
+    @Override
+    public synchronized void open() throws IOException {
+        Files.createDirectories(databaseFile.getParent());
+
+        try {
+            Class.forName("org.sqlite.JDBC");
+            connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.toAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                for (String ddl : SCHEMA) {
+                    statement.execute(ddl);
+                }
+            }
+            logger.info("Opened SQLite stats storage at " + databaseFile.getFileName());
+        } catch (ClassNotFoundException e) {
+            throw new IOException("SQLite JDBC driver is not available on this server", e);
+        } catch (SQLException e) {
+            throw new IOException("Failed to open SQLite stats storage", e);
+        }
+    }
+
+    @Override
+    public synchronized int loadOnlineHistory(long from, long to, SampleConsumer consumer) throws IOException {
+        String sql = "SELECT timestamp, online FROM online_history WHERE timestamp BETWEEN ? AND ? ORDER BY timestamp";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, from);
+            statement.setLong(2, to);
+            int loaded = 0;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    consumer.accept(rows.getLong(1), rows.getInt(2));
+                    loaded++;
+                }
+            }
+            return loaded;
+        } catch (SQLException e) {
+            throw new IOException("Failed to load online history", e);
+        }
+    }
+
+    @Override
+    public synchronized void appendOnlineHistory(List<OnlineSample> samples) throws IOException {
+        String sql = "INSERT OR REPLACE INTO online_history (timestamp, online) VALUES (?, ?)";
+        inTransaction(sql, statement -> {
+            for (OnlineSample sample : samples) {
+                statement.setLong(1, sample.timestamp());
+                statement.setInt(2, sample.count());
+                statement.addBatch();
+            }
+        }, "Failed to append online history");
+    }
+
+    @Override
+    public synchronized int compactOnlineHistory(long cutoffTime) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM online_history WHERE timestamp < ?")) {
+            statement.setLong(1, cutoffTime);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Failed to compact online history", e);
+        }
+    }
+
+    @Override
+    public synchronized int loadRollups(OnlineHistoryResolution resolution, long from, Consumer<RollupBucket> consumer) throws IOException {
+        String sql = "SELECT bucket_start, min_online, max_online, sum_online, samples FROM online_rollups " +
+                "WHERE resolution = ? AND bucket_start >= ? ORDER BY bucket_start";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, resolution.getKey());
+            statement.setLong(2, from);
+            int loaded = 0;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    consumer.accept(new RollupBucket(rows.getLong(1), rows.getInt(2), rows.getInt(3), rows.getLong(4), rows.getInt(5)));
+                    loaded++;
+                }
+            }
+            return loaded;
+        } catch (SQLException e) {
+            throw new IOException("Failed to load " + resolution.getKey() + " rollups", e);
+        }
+    }
+
+    @Override
+    public synchronized void saveRollups(OnlineHistoryResolution resolution, List<RollupBucket> buckets) throws IOException {
+        String sql = "INSERT OR REPLACE INTO online_rollups (resolution, bucket_start, min_online, max_online, sum_online, samples) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        inTransaction(sql, statement -> {
+            for (RollupBucket bucket : buckets) {
+                statement.setString(1, resolution.getKey());
+                statement.setLong(2, bucket.start());
+                statement.setInt(3, bucket.min());
+                statement.setInt(4, bucket.max());
+                statement.setLong(5, bucket.sum());
+                statement.setInt(6, bucket.samples());
+                statement.addBatch();
+            }
+        }, "Failed to save " + resolution.getKey() + " rollups");
+    }
+
+    @Override
+    public synchronized int compactRollups(OnlineHistoryResolution resolution, long cutoffTime) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "DELETE FROM online_rollups WHERE resolution = ? AND bucket_start < ?")) {
+            statement.setString(1, resolution.getKey());
+            statement.setLong(2, cutoffTime);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Failed to compact " + resolution.getKey() + " rollups", e);
+        }
+    }
+
+    @Override
+    public synchronized int loadHourlyDistribution(long fromDay, HourlyConsumer consumer) throws IOException {
+        String sql = "SELECT epoch_day, minute, online FROM hourly_samples WHERE epoch_day >= ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, fromDay);
+            int loaded = 0;
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    consumer.accept(rows.getLong(1), rows.getInt(2), rows.getInt(3));
+                    loaded++;
+                }
+            }
+            return loaded;
+        } catch (SQLException e) {
+            throw new IOException("Failed to load hourly distribution", e);
+        }
+    }
+
+    @Override
+    public synchronized void appendHourlyDistribution(List<HourlySample> samples) throws IOException {
+        String sql = "INSERT OR REPLACE INTO hourly_samples (epoch_day, minute, online) VALUES (?, ?, ?)";
+        inTransaction(sql, statement -> {
+            for (HourlySample sample : samples) {
+                statement.setLong(1, sample.epochDay());
+                statement.setInt(2, sample.minuteOfDay());
+                statement.setInt(3, sample.count());
+                statement.addBatch();
+            }
+        }, "Failed to save hourly distribution");
+    }
+
+    @Override
+    public synchronized int compactHourlyDistribution(long cutoffDay) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM hourly_samples WHERE epoch_day < ?")) {
+            statement.setLong(1, cutoffDay);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Failed to compact hourly distribution", e);
+        }
+    }
+
+    @Override
+    public synchronized int loadPlayers(Consumer<PlayerRecord> consumer) throws IOException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT uuid, playtime, level, last_seen, name, sessions, session_time FROM players")) {
+            int loaded = 0;
+            while (rows.next()) {
+                try {
+                    consumer.accept(new PlayerRecord(UUID.fromString(rows.getString(1)), rows.getLong(2), rows.getInt(3),
+                            rows.getLong(4), rows.getString(5), rows.getInt(6), rows.getLong(7)));
+                    loaded++;
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Invalid player UUID in stats database: " + rows.getString(1));
+                }
+            }
+            return loaded;
+        } catch (SQLException e) {
+            throw new IOException("Failed to load players", e);
+        }
+    }
+
+    @Override
+    public synchronized void savePlayers(Collection<PlayerRecord> records) throws IOException {
+        String sql = "INSERT OR REPLACE INTO players (uuid, playtime, level, last_seen, name, sessions, session_time) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        inTransaction(sql, statement -> {
+            for (PlayerRecord record : records) {
+                statement.setString(1, record.uuid().toString());
+                statement.setLong(2, record.playtime());
+                statement.setInt(3, record.level());
+                statement.setLong(4, record.lastSeen());
+                statement.setString(5, record.name());
+                statement.setInt(6, record.sessions());
+                statement.setLong(7, record.sessionTime());
+                statement.addBatch();
+            }
+        }, "Failed to save players");
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IOException("Failed to close SQLite stats storage", e);
+        } finally {
+            connection = null;
+        }
+    }
+
+    private void inTransaction(String sql, BatchBinder binder, String failureMessage) throws IOException {
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                binder.bind(statement);
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IOException(failureMessage, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
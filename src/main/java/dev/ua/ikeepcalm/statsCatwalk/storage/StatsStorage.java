@@ -0,0 +1,57 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import dev.ua.ikeepcalm.statsCatwalk.data.OnlineHistoryResolution;
+import dev.ua.ikeepcalm.statsCatwalk.data.RollupBucket;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface StatsStorage extends Closeable {
+
+    void open() throws IOException;
+
+    int loadOnlineHistory(long from, long to, SampleConsumer consumer) throws IOException;
+
+    void appendOnlineHistory(List<OnlineSample> samples) throws IOException;
+
+    int compactOnlineHistory(long cutoffTime) throws IOException;
+
+    int loadRollups(OnlineHistoryResolution resolution, long from, Consumer<RollupBucket> consumer) throws IOException;
+
+    void saveRollups(OnlineHistoryResolution resolution, List<RollupBucket> buckets) throws IOException;
+
+    int compactRollups(OnlineHistoryResolution resolution, long cutoffTime) throws IOException;
+
+    int loadHourlyDistribution(long fromDay, HourlyConsumer consumer) throws IOException;
+
+    void appendHourlyDistribution(List<HourlySample> samples) throws IOException;
+
+    int compactHourlyDistribution(long cutoffDay) throws IOException;
+
+    int loadPlayers(Consumer<PlayerRecord> consumer) throws IOException;
+
+    void savePlayers(Collection<PlayerRecord> records) throws IOException;
+
+    record OnlineSample(long timestamp, int count) {
+    }
+
+    record HourlySample(long epochDay, int minuteOfDay, int count) {
+    }
+
+    record PlayerRecord(UUID uuid, long playtime, int level, long lastSeen, String name, int sessions, long sessionTime) {
+    }
+
+    @FunctionalInterface
+    interface SampleConsumer {
+        void accept(long timestamp, int count);
+    }
+
+    @FunctionalInterface
+    interface HourlyConsumer {
+        void accept(long epochDay, int minuteOfDay, int count);
+    }
+}
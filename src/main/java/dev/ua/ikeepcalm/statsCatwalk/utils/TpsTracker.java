@@ -12,7 +12,7 @@ public class TpsTracker {
     private final StatsCatwalk plugin;
     private BukkitTask trackingTask;
     private Spark spark;
-    private double currentTPS = 20.0;
+    private volatile double currentTPS = 20.0;
 
     public TpsTracker(StatsCatwalk plugin) {
         this.plugin = plugin;
@@ -0,0 +1,97 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NameIndexTest {
+
+    private final NameIndex index = new NameIndex();
+
+    @Test
+    void exactLookupIgnoresCase() {
+        UUID uuid = UUID.randomUUID();
+        index.put(uuid, "iKeepCalm", 10);
+
+        assertEquals(uuid, index.get("IKEEPCALM").uuid());
+        assertEquals("iKeepCalm", index.get("ikeepcalm").name());
+        assertNull(index.get("ikeep"));
+    }
+
+    @Test
+    void prefixSearchIsOrderedAndLimited() {
+        index.putAll(List.of(
+                NameIndex.Entry.of(UUID.randomUUID(), "Steve", 1),
+                NameIndex.Entry.of(UUID.randomUUID(), "alex", 1),
+                NameIndex.Entry.of(UUID.randomUUID(), "Alexandra", 1),
+                NameIndex.Entry.of(UUID.randomUUID(), "alexa", 1),
+                NameIndex.Entry.of(UUID.randomUUID(), "Bob", 1)));
+
+        assertEquals(List.of("alex", "alexa", "Alexandra"), names(index.search("ALE", 10)));
+        assertEquals(List.of("alex", "alexa"), names(index.search("alex", 2)));
+        assertEquals(List.of("Steve"), names(index.search("s", 10)));
+        assertEquals(List.of(), names(index.search("z", 10)));
+        assertEquals(5, index.search("", 10).size());
+    }
+
+    @Test
+    void singleInsertsKeepTheArraySorted() {
+        for (String name : new String[]{"m", "c", "x", "a", "q", "b"}) {
+            index.put(UUID.randomUUID(), name, 1);
+        }
+
+        assertEquals(List.of("a", "b", "c", "m", "q", "x"), names(index.search("", 10)));
+    }
+
+    @Test
+    void renameDropsTheOldName() {
+        UUID uuid = UUID.randomUUID();
+        index.put(uuid, "OldName", 10);
+        index.put(uuid, "NewName", 20);
+
+        assertNull(index.get("oldname"));
+        assertEquals(uuid, index.get("newname").uuid());
+        assertEquals(List.of(), names(index.search("old", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void mostRecentlySeenPlayerOwnsASharedName() {
+        UUID older = UUID.randomUUID();
+        UUID newer = UUID.randomUUID();
+        index.putAll(List.of(NameIndex.Entry.of(newer, "Shared", 20), NameIndex.Entry.of(older, "shared", 10)));
+
+        assertEquals(newer, index.get("shared").uuid());
+
+        index.put(older, "Shared", 30);
+        assertEquals(older, index.get("SHARED").uuid());
+        assertEquals(1, index.search("sha", 10).size());
+    }
+
+    @Test
+    void takingAnotherPlayersNameReleasesYourOwn() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        index.put(first, "Alpha", 10);
+        index.put(second, "Beta", 10);
+
+        index.put(second, "alpha", 20);
+
+        assertEquals(second, index.get("alpha").uuid());
+        assertNull(index.get("beta"));
+        assertEquals(List.of("alpha"), names(index.search("", 10)));
+    }
+
+    private static List<String> names(List<NameIndex.Entry> entries) {
+        List<String> names = new ArrayList<>();
+        for (NameIndex.Entry entry : entries) {
+            names.add(entry.name());
+        }
+        return names;
+    }
+}
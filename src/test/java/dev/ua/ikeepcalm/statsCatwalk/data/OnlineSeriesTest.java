@@ -0,0 +1,110 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OnlineSeriesTest {
+
+    private static final long INTERVAL = 600_000L;
+
+    @Test
+    void lttbReturnsExactlyThresholdPoints() {
+        OnlineSeries series = wave(10_000);
+
+        for (int threshold : new int[]{3, 10, 800, 9_999}) {
+            assertEquals(threshold, series.lttb(threshold).size(), "threshold " + threshold);
+        }
+    }
+
+    @Test
+    void lttbKeepsEndpointsAndTimeOrder() {
+        OnlineSeries series = wave(1_000);
+        OnlineSeries reduced = series.lttb(50);
+
+        assertEquals(series.timestamp(0), reduced.timestamp(0));
+        assertEquals(series.timestamp(series.size() - 1), reduced.timestamp(reduced.size() - 1));
+        for (int i = 1; i < reduced.size(); i++) {
+            assertTrue(reduced.timestamp(i) > reduced.timestamp(i - 1));
+        }
+    }
+
+    @Test
+    void lttbKeepsASinglePeak() {
+        OnlineSeries series = new OnlineSeries(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            series.add(i * INTERVAL, i == 537 ? 500 : 10);
+        }
+
+        OnlineSeries reduced = series.lttb(20);
+
+        boolean peakKept = false;
+        for (int i = 0; i < reduced.size(); i++) {
+            peakKept |= reduced.max(i) == 500;
+        }
+        assertTrue(peakKept);
+    }
+
+    @Test
+    void lttbBelowThreeKeepsFirstAndLast() {
+        OnlineSeries series = wave(100);
+
+        assertEquals(2, series.lttb(2).size());
+        assertEquals(1, series.lttb(1).size());
+    }
+
+    @Test
+    void reductionAtOrAboveSizeReturnsTheSeries() {
+        OnlineSeries series = wave(100);
+
+        assertSame(series, series.lttb(100));
+        assertSame(series, series.minMax(500));
+    }
+
+    @Test
+    void minMaxReturnsExactlyBucketCountAndPreservesExtremes() {
+        OnlineSeries series = wave(10_000);
+
+        for (int buckets : new int[]{1, 7, 800, 9_999}) {
+            OnlineSeries reduced = series.minMax(buckets);
+            assertEquals(buckets, reduced.size(), "buckets " + buckets);
+            assertTrue(reduced.isAggregated());
+
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < reduced.size(); i++) {
+                min = Math.min(min, reduced.min(i));
+                max = Math.max(max, reduced.max(i));
+            }
+            assertEquals(0, min);
+            assertEquals(100, max);
+        }
+    }
+
+    @Test
+    void minMaxAveragesBySampleCount() {
+        OnlineSeries series = new OnlineSeries(4);
+        series.add(0, 10);
+        series.add(INTERVAL, 20);
+        series.add(2 * INTERVAL, 30);
+        series.add(3 * INTERVAL, 40);
+
+        OnlineSeries reduced = series.minMax(2);
+
+        assertEquals(15, reduced.average(0));
+        assertEquals(35, reduced.average(1));
+        assertEquals(10, reduced.min(0));
+        assertEquals(40, reduced.max(1));
+        assertEquals(2 * INTERVAL, reduced.timestamp(1));
+    }
+
+    private static OnlineSeries wave(int size) {
+        OnlineSeries series = new OnlineSeries(size);
+        for (int i = 0; i < size; i++) {
+            series.add(i * INTERVAL, (int) Math.round(50 + 50 * Math.sin(i / 40.0)));
+        }
+        return series;
+    }
+}
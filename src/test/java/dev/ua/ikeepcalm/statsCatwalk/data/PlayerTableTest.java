@@ -0,0 +1,142 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import dev.ua.ikeepcalm.statsCatwalk.storage.StatsStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlayerTableTest {
+
+    private static final long NOW = 1_000_000_000L;
+
+    private final PlayerTable table = new PlayerTable(16);
+
+    @Test
+    void tiedStoredPlayersShareARank() {
+        UUID a = load(100);
+        UUID b = load(100);
+        UUID c = load(50);
+
+        assertEquals(1, table.rank(a, NOW));
+        assertEquals(1, table.rank(b, NOW));
+        assertEquals(3, table.rank(c, NOW));
+    }
+
+    @Test
+    void onlineAndStoredPlayersTieTheSameWay() {
+        UUID stored = load(100);
+        UUID online = load(40);
+        UUID behind = load(50);
+        table.startSession(online, NOW - 60);
+
+        assertEquals(1, table.rank(stored, NOW));
+        assertEquals(1, table.rank(online, NOW));
+        assertEquals(3, table.rank(behind, NOW));
+    }
+
+    @Test
+    void runningSessionMovesPlayerAhead() {
+        UUID stored = load(100);
+        UUID online = load(40);
+        table.startSession(online, NOW - 110);
+
+        assertEquals(1, table.rank(online, NOW));
+        assertEquals(2, table.rank(stored, NOW));
+    }
+
+    @Test
+    void endedSessionIsPromotedInTheStoredRanking() {
+        UUID a = load(100);
+        UUID b = load(40);
+        UUID c = load(50);
+        table.rank(a, NOW);
+
+        table.startSession(b, NOW - 110);
+        table.endSession(b, NOW, null);
+
+        assertEquals(1, table.rank(b, NOW));
+        assertEquals(2, table.rank(a, NOW));
+        assertEquals(List.of(b, a, c), uuids(table.top(10, NOW)));
+    }
+
+    @Test
+    void topMergesRunningSessionsWithStoredOrder() {
+        UUID a = load(100);
+        UUID b = load(10);
+        UUID c = load(50);
+        table.startSession(b, NOW - 60);
+
+        List<PlayerTable.Ranked> top = table.top(10, NOW);
+
+        assertEquals(List.of(a, b, c), uuids(top));
+        assertEquals(70, top.get(1).playtime());
+        assertEquals(true, top.get(1).online());
+        assertEquals(List.of(a, b), uuids(table.top(2, NOW)));
+    }
+
+    @Test
+    void unknownPlayerHasNoRank() {
+        load(10);
+
+        assertEquals(0, table.rank(UUID.randomUUID(), NOW));
+    }
+
+    @Test
+    void rankMatchesCountOfStrictlyHigherPlaytime() {
+        Random random = new Random(7);
+        Map<UUID, Long> live = new HashMap<>();
+        for (int i = 0; i < 300; i++) {
+            long playtime = random.nextInt(20) * 10L;
+            UUID uuid = load(playtime);
+            live.put(uuid, playtime);
+        }
+        List<UUID> players = new ArrayList<>(live.keySet());
+        for (int i = 0; i < 40; i++) {
+            UUID uuid = players.get(random.nextInt(players.size()));
+            if (i % 3 == 0) {
+                table.startSession(uuid, NOW - 100);
+                table.endSession(uuid, NOW - 50, null);
+                live.merge(uuid, 50L, Long::sum);
+            }
+        }
+        Set<UUID> online = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            UUID uuid = players.get(random.nextInt(players.size()));
+            if (online.add(uuid)) {
+                long elapsed = random.nextInt(5) * 10L;
+                table.startSession(uuid, NOW - elapsed);
+                live.merge(uuid, elapsed, Long::sum);
+            }
+        }
+
+        for (UUID uuid : players) {
+            long playtime = live.get(uuid);
+            int expected = 1 + (int) live.values().stream().filter(other -> other > playtime).count();
+            assertEquals(playtime, (long) table.getPlaytime(uuid, NOW));
+            assertEquals(expected, table.rank(uuid, NOW), "rank of a player with " + playtime);
+        }
+    }
+
+    private UUID load(long playtime) {
+        UUID uuid = UUID.randomUUID();
+        table.load(new StatsStorage.PlayerRecord(uuid, playtime, 0, 0L, null, 0, 0L));
+        return uuid;
+    }
+
+    private static List<UUID> uuids(List<PlayerTable.Ranked> ranked) {
+        List<UUID> result = new ArrayList<>();
+        for (PlayerTable.Ranked entry : ranked) {
+            result.add(entry.uuid());
+        }
+        return result;
+    }
+}
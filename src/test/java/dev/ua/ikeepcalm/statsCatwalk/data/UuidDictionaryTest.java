@@ -0,0 +1,65 @@
+package dev.ua.ikeepcalm.statsCatwalk.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UuidDictionaryTest {
+
+    @Test
+    void internAssignsDenseIdsInFirstSeenOrder() {
+        UuidDictionary dictionary = new UuidDictionary(4);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        assertEquals(0, dictionary.intern(first));
+        assertEquals(1, dictionary.intern(second));
+        assertEquals(0, dictionary.intern(first));
+        assertEquals(2, dictionary.size());
+        assertEquals(second, dictionary.uuid(1));
+    }
+
+    @Test
+    void findReturnsMinusOneForUnknownUuid() {
+        UuidDictionary dictionary = new UuidDictionary(4);
+        dictionary.intern(UUID.randomUUID());
+
+        assertEquals(-1, dictionary.find(UUID.randomUUID()));
+    }
+
+    @Test
+    void keepsEveryIdAcrossGrowth() {
+        UuidDictionary dictionary = new UuidDictionary(1);
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID uuid = UUID.randomUUID();
+            uuids.add(uuid);
+            assertEquals(i, dictionary.intern(uuid));
+        }
+
+        for (int i = 0; i < uuids.size(); i++) {
+            assertEquals(i, dictionary.find(uuids.get(i)));
+            assertEquals(uuids.get(i), dictionary.uuid(i));
+        }
+    }
+
+    @Test
+    void distinguishesUuidsSharingOneHalf() {
+        UuidDictionary dictionary = new UuidDictionary(4);
+        UUID a = new UUID(42L, 1L);
+        UUID b = new UUID(42L, 2L);
+        UUID c = new UUID(7L, 1L);
+
+        dictionary.intern(a);
+        dictionary.intern(b);
+        dictionary.intern(c);
+
+        assertEquals(0, dictionary.find(a));
+        assertEquals(1, dictionary.find(b));
+        assertEquals(2, dictionary.find(c));
+    }
+}
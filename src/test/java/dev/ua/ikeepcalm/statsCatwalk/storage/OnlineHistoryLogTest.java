@@ -0,0 +1,123 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OnlineHistoryLogTest {
+
+    private static final Logger LOGGER = Logger.getLogger(OnlineHistoryLogTest.class.getName());
+    private static final long BASE = 1_700_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void samplesRoundTripAcrossSegmentsAndReopen() throws IOException {
+        List<Sample> written = new ArrayList<>();
+        try (OnlineHistoryLog log = new OnlineHistoryLog(directory, LOGGER)) {
+            long timestamp = BASE;
+            for (int i = 0; i < 1_000; i++) {
+                // Mostly steady intervals with jitter and gaps, spanning several days
+                timestamp += i % 97 == 0 ? 7_200_000L : 600_000L + (i % 5) * 13L;
+                int count = (i * 31) % 120;
+                log.append(timestamp, count);
+                written.add(new Sample(timestamp, count));
+            }
+        }
+
+        try (OnlineHistoryLog log = new OnlineHistoryLog(directory, LOGGER)) {
+            assertEquals(written, replay(log, Long.MIN_VALUE, Long.MAX_VALUE));
+            assertEquals(written.get(written.size() - 1).timestamp(), log.newestTimestamp());
+
+            long from = written.get(200).timestamp();
+            long to = written.get(400).timestamp();
+            assertEquals(written.subList(200, 401), replay(log, from, to));
+        }
+    }
+
+    @Test
+    void appendsContinueAnExistingSegment() throws IOException {
+        try (OnlineHistoryLog log = new OnlineHistoryLog(directory, LOGGER)) {
+            log.append(BASE, 5);
+            log.append(BASE + 600_000L, 6);
+        }
+        try (OnlineHistoryLog log = new OnlineHistoryLog(directory, LOGGER)) {
+            log.append(BASE + 1_200_000L, 7);
+        }
+
+        try (OnlineHistoryLog log = new OnlineHistoryLog(directory, LOGGER)) {
+            assertEquals(List.of(new Sample(BASE, 5), new Sample(BASE + 600_000L, 6), new Sample(BASE + 1_200_000L, 7)),
+                    replay(log, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void tornRecordIsTruncatedBeforeAppending() throws IOException {
+        try (OnlineHistoryLog log = new OnlineHistoryLog(directory, LOGGER)) {
+            log.append(BASE, 5);
+            log.append(BASE + 600_000L, 300);
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try (OnlineHistoryLog log = new OnlineHistoryLog(directory, LOGGER)) {
+            log.append(BASE + 1_200_000L, 7);
+        }
+        try (OnlineHistoryLog log = new OnlineHistoryLog(directory, LOGGER)) {
+            assertEquals(List.of(new Sample(BASE, 5), new Sample(BASE + 1_200_000L, 7)),
+                    replay(log, Long.MIN_VALUE, Long.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void interruptedMigrationResumesWithoutDuplicates() throws IOException {
+        Path legacy = directory.resolve("online_history.csv");
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            csv.append(BASE + i * 600_000L).append(',').append(i).append('\n');
+        }
+        Files.writeString(legacy, csv);
+
+        Path segments = directory.resolve("segments");
+        try (OnlineHistoryLog log = new OnlineHistoryLog(segments, LOGGER)) {
+            for (int i = 0; i < 20; i++) {
+                log.append(BASE + i * 600_000L, i);
+            }
+        }
+
+        try (OnlineHistoryLog log = new OnlineHistoryLog(segments, LOGGER)) {
+            new OnlineHistoryMigrator(log, LOGGER).migrate(legacy);
+            List<Sample> samples = replay(log, Long.MIN_VALUE, Long.MAX_VALUE);
+            assertEquals(50, samples.size());
+            for (int i = 0; i < samples.size(); i++) {
+                assertEquals(BASE + i * 600_000L, samples.get(i).timestamp());
+            }
+        }
+    }
+
+    private static List<Sample> replay(OnlineHistoryLog log, long from, long to) throws IOException {
+        List<Sample> samples = new ArrayList<>();
+        log.replay(from, to, (timestamp, count) -> samples.add(new Sample(timestamp, count)));
+        return samples;
+    }
+
+    private record Sample(long timestamp, long count) {
+    }
+}
@@ -0,0 +1,58 @@
+package dev.ua.ikeepcalm.statsCatwalk.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VarIntTest {
+
+    private static final long[] VALUES = {
+            0, 1, -1, 63, -64, 64, 127, 128, 300, -300, 16_383, 16_384,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE
+    };
+
+    @Test
+    void signedValuesRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(VarInt.MAX_LONG_BYTES * VALUES.length);
+        for (long value : VALUES) {
+            VarInt.writeSigned(buffer, value);
+        }
+        buffer.flip();
+
+        for (long value : VALUES) {
+            assertEquals(value, VarInt.readSigned(buffer));
+        }
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void unsignedValuesRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(VarInt.MAX_LONG_BYTES * VALUES.length);
+        for (long value : VALUES) {
+            VarInt.writeUnsigned(buffer, value);
+        }
+        buffer.flip();
+
+        for (long value : VALUES) {
+            assertEquals(value, VarInt.readUnsigned(buffer));
+        }
+    }
+
+    @Test
+    void smallMagnitudesTakeOneByte() {
+        for (long value = -64; value <= 63; value++) {
+            ByteBuffer buffer = ByteBuffer.allocate(VarInt.MAX_LONG_BYTES);
+            VarInt.writeSigned(buffer, value);
+            assertEquals(1, buffer.position(), "bytes for " + value);
+        }
+    }
+
+    @Test
+    void extremesFitInMaxBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(VarInt.MAX_LONG_BYTES);
+        VarInt.writeUnsigned(buffer, -1L);
+        assertEquals(VarInt.MAX_LONG_BYTES, buffer.position());
+    }
+}